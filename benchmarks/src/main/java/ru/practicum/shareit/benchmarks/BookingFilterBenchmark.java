@@ -0,0 +1,74 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.statusEnum.StatusBooking;
+import ru.practicum.shareit.item.availability.AvailabilityTimelines;
+import ru.practicum.shareit.item.dto.BusySlotDto;
+import ru.practicum.shareit.user.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Finding the approved bookings of an item that overlap a window, over a large booking list:
+ * a linear stream filter, as state filtering used to be done in memory, against the resident item timeline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BookingFilterBenchmark {
+    private static final long ITEM_ID = 1L;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private List<Booking> bookings;
+    private AvailabilityTimelines timelines;
+    private Function<LocalDateTime, List<Booking>> approvedEndingAfter;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @Setup
+    public void setUp() {
+        User owner = Fixtures.user(1L);
+        bookings = Fixtures.bookings(size, Fixtures.item(ITEM_ID, owner), Fixtures.user(2L));
+        timelines = new AvailabilityTimelines(true, 10, 60);
+        approvedEndingAfter = horizon -> bookings.stream()
+                .filter(booking -> StatusBooking.APPROVED.equals(booking.getStatus()))
+                .filter(booking -> booking.getEndDate().isAfter(horizon))
+                .collect(Collectors.toList());
+        from = Fixtures.NOW.plusDays(size);
+        to = from.plusDays(14);
+        timelines.findBusy(ITEM_ID, from, to, approvedEndingAfter).orElseThrow();
+    }
+
+    @Benchmark
+    public List<Booking> linearScan() {
+        return bookings.stream()
+                .filter(booking -> StatusBooking.APPROVED.equals(booking.getStatus()))
+                .filter(booking -> booking.getStartDate().isBefore(to) && booking.getEndDate().isAfter(from))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<BusySlotDto> timeline() {
+        return timelines.findBusy(ITEM_ID, from, to, approvedEndingAfter).orElseThrow();
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.benchmarks;
+
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.statusEnum.StatusBooking;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.user.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic entities for the benchmarks, shaped like what the repositories hand to the mappers.
+ */
+final class Fixtures {
+    static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+    private static final StatusBooking[] STATUSES = StatusBooking.values();
+
+    private Fixtures() {
+    }
+
+    static User user(long id) {
+        return User.builder()
+                .id(id)
+                .name("user " + id)
+                .email("user" + id + "@mail.ru")
+                .build();
+    }
+
+    static Item item(long id, User owner) {
+        return Item.builder()
+                .id(id)
+                .name("Item " + id)
+                .description("Cordless drill with two batteries, item " + id)
+                .available(true)
+                .owner(owner)
+                .build();
+    }
+
+    /**
+     * Bookings of one item from {@link #NOW} on, one day long with a day gap between them, every fourth one approved.
+     */
+    static List<Booking> bookings(int count, Item item, User booker) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            bookings.add(Booking.builder()
+                    .id((long) i + 1)
+                    .item(item)
+                    .booker(booker)
+                    .startDate(NOW.plusDays(2L * i))
+                    .endDate(NOW.plusDays(2L * i + 1))
+                    .status(i % 4 == 0 ? StatusBooking.APPROVED : STATUSES[i % STATUSES.length])
+                    .build());
+        }
+        return bookings;
+    }
+
+    static List<CommentDto> comments(int count) {
+        List<CommentDto> comments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            comments.add(CommentDto.builder()
+                    .id((long) i + 1)
+                    .text("Works fine, comment " + i)
+                    .authorName("user " + i)
+                    .created(NOW.minusHours(i))
+                    .build());
+        }
+        return comments;
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.user.mapper.UserMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of a page of bookings and items, as done by the booking and item controllers.
+ * The mapped methods do not touch the repositories and services, so the mappers get nulls for them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MapperBenchmark {
+    @Param({"20", "1000"})
+    private int size;
+
+    private BookingMapper bookingMapper;
+    private ItemMapper itemMapper;
+    private List<Booking> bookings;
+    private List<Item> items;
+    private List<CommentDto> comments;
+
+    @Setup
+    public void setUp() {
+        itemMapper = new ItemMapper(null, null);
+        bookingMapper = new BookingMapper(null, null, itemMapper, new UserMapper());
+        User owner = Fixtures.user(1L);
+        User booker = Fixtures.user(2L);
+        bookings = Fixtures.bookings(size, Fixtures.item(1L, owner), booker);
+        items = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            items.add(Fixtures.item(id, owner));
+        }
+        comments = Fixtures.comments(3);
+    }
+
+    @Benchmark
+    public List<BookingDtoResponse> toBookingDtoResponse() {
+        List<BookingDtoResponse> result = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            result.add(bookingMapper.toBookingDtoResponse(booking));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ItemDtoWithBooking> toItemDtoBooking() {
+        List<ItemDtoWithBooking> result = new ArrayList<>(items.size());
+        for (Item item : items) {
+            result.add(itemMapper.toItemDtoBooking(item, comments));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.user.mapper.UserMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Response body serialization with an ObjectMapper configured the way Spring MVC configures it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SerializationBenchmark {
+    @Param({"20", "1000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<BookingDtoResponse> bookings;
+    private List<ItemDtoWithBooking> items;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        ItemMapper itemMapper = new ItemMapper(null, null);
+        BookingMapper bookingMapper = new BookingMapper(null, null, itemMapper, new UserMapper());
+        User owner = Fixtures.user(1L);
+        bookings = Fixtures.bookings(size, Fixtures.item(1L, owner), Fixtures.user(2L)).stream()
+                .map(bookingMapper::toBookingDtoResponse)
+                .collect(Collectors.toList());
+        List<CommentDto> comments = Fixtures.comments(3);
+        items = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            items.add(itemMapper.toItemDtoBooking(Fixtures.item(id, owner), comments));
+        }
+    }
+
+    @Benchmark
+    public byte[] bookingDtoResponses() throws JsonProcessingException {
+        return writer.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] itemDtosWithBooking() throws JsonProcessingException {
+        return writer.writeValueAsBytes(items);
+    }
+}
@@ -4,13 +4,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.gateway.booking.dto.BookingDto;
 import ru.practicum.gateway.booking.dto.StatusState;
 import ru.practicum.gateway.client.BaseClient;
+import ru.practicum.gateway.client.HttpClientProperties;
+import ru.practicum.gateway.client.ServerCallGuard;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -18,42 +23,52 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory, WebClient webClient,
+                         HttpClientProperties properties, ServerCallGuard guard) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                webClient.mutate()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                properties.getMode(),
+                guard,
+                "bookings"
         );
     }
 
-    public ResponseEntity<Object> getAllBookingsByAuthor(Long userId, StatusState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<byte[]>> getAllBookingsByAuthor(Long userId, StatusState state, Integer from, Integer size,
+                                                               String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state,
                 "from", from,
                 "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        return get(withCursor("?state={state}&from={from}&size={size}", parameters, after), userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllBookingByOwner(Long userId, StatusState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<byte[]>> getAllBookingByOwner(Long userId, StatusState state, Integer from, Integer size,
+                                                             String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state,
                 "from", from,
                 "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        return get(withCursor("/owner?state={state}&from={from}&size={size}", parameters, after), userId, parameters);
     }
 
-    public ResponseEntity<Object> createBookingRequest(Long userId, BookingDto bookingDto) {
+    public Mono<ResponseEntity<byte[]>> createBookingRequest(Long userId, BookingDto bookingDto) {
         return post("", userId, bookingDto);
     }
 
-    public ResponseEntity<Object> getBookingDetails(Long userId, Long bookingId) {
+    public Mono<ResponseEntity<byte[]>> getBookingDetails(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> updateBookingStatusByOwner(Long bookingId, Long userId, Boolean approved) {
+    public Mono<ResponseEntity<byte[]>> updateBookingStatusByOwner(Long bookingId, Long userId, Boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", userId, parameters);
     }
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.gateway.booking.dto.BookingDto;
 import ru.practicum.gateway.booking.dto.StatusState;
 
@@ -22,42 +23,44 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object>
+    public Mono<ResponseEntity<byte[]>>
     getAllBookingsByAuthor(@RequestParam(defaultValue = "ALL") StatusState state,
                            @RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId,
                            @RequestParam(defaultValue = "0") @Min(0) Integer from,
-                           @RequestParam(defaultValue = "20") @Min(1) @Max(50) Integer size) {
-        log.info("Get booking with state {}, userId={}, from={}, size={}", state, userId, from, size);
-        return bookingClient.getAllBookingsByAuthor(userId, state, from, size);
+                           @RequestParam(defaultValue = "20") @Min(1) @Max(50) Integer size,
+                           @RequestParam(required = false) String after) {
+        log.info("Get booking with state {}, userId={}, from={}, size={}, after={}", state, userId, from, size, after);
+        return bookingClient.getAllBookingsByAuthor(userId, state, from, size, after);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object>
+    public Mono<ResponseEntity<byte[]>>
     getAllBookingByOwner(@RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId,
                          @RequestParam(defaultValue = "ALL") StatusState state,
                          @RequestParam(defaultValue = "0") @Min(0) Integer from,
-                         @RequestParam(defaultValue = "20") @Min(1) @Max(50) Integer size) {
-        log.info("Get booking with state {}, userId={}, from={}, size={}", state, userId, from, size);
-        return bookingClient.getAllBookingByOwner(userId, state, from, size);
+                         @RequestParam(defaultValue = "20") @Min(1) @Max(50) Integer size,
+                         @RequestParam(required = false) String after) {
+        log.info("Get booking with state {}, userId={}, from={}, size={}, after={}", state, userId, from, size, after);
+        return bookingClient.getAllBookingByOwner(userId, state, from, size, after);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createBookingRequest(@RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId,
-                                                       @Valid @RequestBody BookingDto bookingDto) {
+    public Mono<ResponseEntity<byte[]>> createBookingRequest(@RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId,
+                                                             @Valid @RequestBody BookingDto bookingDto) {
         log.info("Creating booking {}, userId={}", bookingDto, userId);
         return bookingClient.createBookingRequest(userId, bookingDto);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingDetails(@PathVariable Long bookingId,
-                                                    @RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId) {
+    public Mono<ResponseEntity<byte[]>> getBookingDetails(@PathVariable Long bookingId,
+                                                          @RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
         return bookingClient.getBookingDetails(userId, bookingId);
     }
 
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object>
+    public Mono<ResponseEntity<byte[]>>
     updateBookingStatusByOwner(@PathVariable Long bookingId,
                                @RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId,
                                @RequestParam boolean approved) {
@@ -4,99 +4,181 @@ import org.springframework.http.*;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class BaseClient {
-    protected final RestTemplate rest;
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "te", "trailer", "upgrade", "content-length");
 
-    public BaseClient(RestTemplate rest) {
+    protected final RestTemplate rest;
+    protected final WebClient webClient;
+    private final HttpClientProperties.Mode mode;
+    private final ServerCallGuard guard;
+    private final String endpointGroup;
+    private final ConcurrentMap<String, CompletableFuture<ResponseEntity<byte[]>>> getsInFlight =
+            new ConcurrentHashMap<>();
+
+    public BaseClient(RestTemplate rest, WebClient webClient, HttpClientProperties.Mode mode,
+                      ServerCallGuard guard, String endpointGroup) {
         this.rest = rest;
+        this.webClient = webClient;
+        this.mode = mode;
+        this.guard = guard;
+        this.endpointGroup = endpointGroup;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<byte[]>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<byte[]>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<byte[]>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected ResponseEntity<Object> get(String path, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<byte[]>> get(String path, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, null, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> Mono<ResponseEntity<byte[]>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<byte[]>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<byte[]>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<byte[]>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<byte[]>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<byte[]>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<byte[]>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<byte[]>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected <T> Mono<ResponseEntity<byte[]>> patch(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<byte[]>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<byte[]>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<byte[]>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<byte[]>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+    protected static String withCursor(String path, Map<String, Object> parameters, @Nullable String after) {
+        if (after == null) {
+            return path;
+        }
+        parameters.put("after", after);
+        return path + "&after={after}";
+    }
+
+    private <T> Mono<ResponseEntity<byte[]>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        if (method == HttpMethod.GET) {
+            return coalesce(path, userId, parameters);
+        }
+        return send(method, path, userId, parameters, body);
+    }
+
+    /**
+     * Identical GETs (same path, parameters and X-Sharer-User-Id) arriving while one is in flight wait for
+     * that call instead of going to the server themselves.
+     */
+    private Mono<ResponseEntity<byte[]>> coalesce(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        String key = path + "|" + (parameters != null ? new TreeMap<>(parameters) : "") + "|" + userId;
+        return Mono.defer(() -> {
+            CompletableFuture<ResponseEntity<byte[]>> flight = new CompletableFuture<>();
+            CompletableFuture<ResponseEntity<byte[]>> leader = getsInFlight.putIfAbsent(key, flight);
+            if (leader != null) {
+                return Mono.fromFuture(leader.copy());
+            }
+            send(HttpMethod.GET, path, userId, parameters, null)
+                    .doFinally(signal -> getsInFlight.remove(key, flight))
+                    .subscribe(flight::complete, flight::completeExceptionally);
+            return Mono.fromFuture(flight.copy());
+        });
+    }
+
+    protected String endpointGroup(String path) {
+        return endpointGroup;
+    }
+
+    private <T> Mono<ResponseEntity<byte[]>> send(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        Mono<ResponseEntity<byte[]>> call;
+        if (mode == HttpClientProperties.Mode.REACTIVE) {
+            call = exchange(method, path, userId, parameters, body);
+        } else {
+            call = Mono.fromCallable(() -> exchangeBlocking(method, path, userId, parameters, body))
+                    .subscribeOn(Schedulers.boundedElastic());
+        }
+        return guard.guard(endpointGroup(path), method == HttpMethod.GET, call);
+    }
+
+    private <T> Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        Map<String, Object> uriVariables = parameters != null ? parameters : Map.of();
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, uriVariables)
+                .headers(headers -> headers.addAll(defaultHeaders(userId)));
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+        return requestWithBody.exchangeToMono(response -> response.toEntity(byte[].class))
+                .map(BaseClient::passThrough);
+    }
+
+    private <T> ResponseEntity<byte[]> exchangeBlocking(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return passThrough(e.getRawStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return passThrough(shareitServerResponse);
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -109,17 +191,19 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static ResponseEntity<byte[]> passThrough(ResponseEntity<byte[]> response) {
+        return passThrough(response.getStatusCodeValue(), response.getHeaders(), response.getBody());
+    }
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+    private static ResponseEntity<byte[]> passThrough(int status, @Nullable HttpHeaders serverHeaders, @Nullable byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    headers.addAll(name, values);
+                }
+            });
         }
-
-        return responseBuilder.build();
+        return ResponseEntity.status(status).headers(headers).body(body);
     }
 }
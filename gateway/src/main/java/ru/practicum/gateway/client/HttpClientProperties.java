@@ -0,0 +1,28 @@
+package ru.practicum.gateway.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.http-client")
+public class HttpClientProperties {
+    private Mode mode = Mode.BLOCKING;
+    private int maxTotalConnections = 200;
+    private int maxConnectionsPerRoute = 100;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    private Duration idleConnectionTimeout = Duration.ofSeconds(30);
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    /**
+     * BLOCKING holds a request thread for the whole server call, REACTIVE hands the call to the non-blocking
+     * WebClient and releases the thread until the response arrives.
+     */
+    public enum Mode {
+        BLOCKING,
+        REACTIVE
+    }
+}
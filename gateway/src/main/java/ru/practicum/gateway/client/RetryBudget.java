@@ -0,0 +1,35 @@
+package ru.practicum.gateway.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps retries at a share of the traffic: every call deposits ratio of a token, every retry withdraws a whole one.
+ */
+class RetryBudget {
+    private static final long SCALE = 1000;
+
+    private final long depositPerCall;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    RetryBudget(double ratio, int maxTokens) {
+        this.depositPerCall = Math.round(ratio * SCALE);
+        this.maxBalance = maxTokens * SCALE;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    void deposit() {
+        balance.accumulateAndGet(depositPerCall, (current, deposit) -> Math.min(maxBalance, current + deposit));
+    }
+
+    boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+}
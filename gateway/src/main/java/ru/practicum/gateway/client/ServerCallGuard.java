@@ -0,0 +1,93 @@
+package ru.practicum.gateway.client;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bulkhead and circuit breaker around every call to the server, plus budgeted retries for GETs,
+ * with one instance of each per endpoint group. 5xx answers count as failures.
+ */
+@Component
+public class ServerCallGuard {
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final RetryRegistry retryRegistry;
+    private final double retryBudgetRatio;
+    private final int retryBudgetMaxTokens;
+    private final Map<String, RetryBudget> retryBudgets = new ConcurrentHashMap<>();
+    private final Map<String, Retry> retries = new ConcurrentHashMap<>();
+
+    public ServerCallGuard(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+                           RetryRegistry retryRegistry,
+                           @Value("${gateway.retry-budget.ratio:0.1}") double retryBudgetRatio,
+                           @Value("${gateway.retry-budget.max-tokens:10}") int retryBudgetMaxTokens) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.retryRegistry = retryRegistry;
+        this.retryBudgetRatio = retryBudgetRatio;
+        this.retryBudgetMaxTokens = retryBudgetMaxTokens;
+    }
+
+    public Mono<ResponseEntity<byte[]>> guard(String group, boolean idempotent, Mono<ResponseEntity<byte[]>> call) {
+        Mono<ResponseEntity<byte[]>> guarded = call
+                .flatMap(ServerCallGuard::failOnServerError)
+                .transformDeferred(BulkheadOperator.of(bulkheadRegistry.bulkhead(group)))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(group)));
+        if (idempotent) {
+            RetryBudget budget = retryBudget(group);
+            guarded = guarded.transformDeferred(RetryOperator.of(retry(group)))
+                    .doOnSubscribe(subscription -> budget.deposit());
+        }
+        return guarded.onErrorResume(ServerErrorResponseException.class, e -> Mono.just(e.response));
+    }
+
+    private Retry retry(String group) {
+        return retries.computeIfAbsent(group, name -> {
+            RetryBudget budget = retryBudget(name);
+            return retryRegistry.retry(name, RetryConfig.from(retryRegistry.getDefaultConfig())
+                    .retryOnException(e -> isTransient(e) && budget.tryWithdraw())
+                    .build());
+        });
+    }
+
+    private RetryBudget retryBudget(String group) {
+        return retryBudgets.computeIfAbsent(group, name -> new RetryBudget(retryBudgetRatio, retryBudgetMaxTokens));
+    }
+
+    private static boolean isTransient(Throwable e) {
+        return e instanceof ServerErrorResponseException
+                || e instanceof ResourceAccessException
+                || e instanceof WebClientRequestException;
+    }
+
+    private static Mono<ResponseEntity<byte[]>> failOnServerError(ResponseEntity<byte[]> response) {
+        if (response.getStatusCodeValue() >= 500) {
+            return Mono.error(new ServerErrorResponseException(response));
+        }
+        return Mono.just(response);
+    }
+
+    private static class ServerErrorResponseException extends RuntimeException {
+        private final transient ResponseEntity<byte[]> response;
+
+        ServerErrorResponseException(ResponseEntity<byte[]> response) {
+            super("ShareIt server answered " + response.getStatusCodeValue(), null, false, false);
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package ru.practicum.gateway.etag;
+
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ETags for GET responses. A client revalidating within the validator TTL gets 304 without a call to the server;
+ * after that the response is fetched again and a matching ETag still turns into 304 with no body.
+ * Validators are kept per resource (the first path segment) and per X-Sharer-User-Id. A non-GET request drops the
+ * validators of every resource whose responses embed the written one, for all users, since one write shows up in
+ * other users' listings: bookings carry items, items carry their last and next bookings, requests carry the items
+ * answering them. Only GET responses are buffered to compute the ETag.
+ * Controllers return Mono, so the response is complete only after the async dispatch.
+ */
+@Component
+public class EtagFilter extends OncePerRequestFilter {
+    private static final String REQUEST_HEADER_SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final String START_GENERATION_ATTRIBUTE = EtagFilter.class.getName() + ".START_GENERATION";
+    private static final Map<String, Set<String>> INVALIDATED_BY_WRITE = Map.of(
+            "users", Set.of("users", "items", "bookings", "requests"),
+            "items", Set.of("items", "bookings", "requests"),
+            "bookings", Set.of("bookings", "items"),
+            "requests", Set.of("requests"));
+
+    private final ConcurrentMap<String, Resource> resources = new ConcurrentHashMap<>();
+    private final long validatorTtlMillis;
+    private final int maxValidators;
+
+    public EtagFilter(@Value("${gateway.etag.validator-ttl-ms:5000}") long validatorTtlMillis,
+                      @Value("${gateway.etag.max-validators:10000}") int maxValidators) {
+        this.validatorTtlMillis = validatorTtlMillis;
+        this.maxValidators = maxValidators;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String resourceName = resourceName(request);
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                invalidateAfterWrite(resourceName);
+            }
+            return;
+        }
+        Resource resource = resource(resourceName);
+        String key = validatorKey(request);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (!isAsyncDispatch(request)) {
+            Validator validator = resource.validators.get(key);
+            if (ifNoneMatch != null && validator != null && validator.isFresh()
+                    && matches(ifNoneMatch, validator.etag)) {
+                response.setStatus(HttpStatus.NOT_MODIFIED.value());
+                response.setHeader(HttpHeaders.ETAG, validator.etag);
+                return;
+            }
+            request.setAttribute(START_GENERATION_ATTRIBUTE, resource.generation.get());
+            response = new ContentCachingResponseWrapper(response);
+        }
+        chain.doFilter(request, response);
+        ContentCachingResponseWrapper responseWrapper =
+                WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (isAsyncStarted(request) || responseWrapper == null) {
+            return;
+        }
+        if (responseWrapper.getStatus() != HttpStatus.OK.value()) {
+            resource.validators.remove(key);
+            responseWrapper.copyBodyToResponse();
+            return;
+        }
+        String etag = "\"0" + DigestUtils.md5DigestAsHex(responseWrapper.getContentAsByteArray()) + "\"";
+        remember(resource, key, etag, (Long) request.getAttribute(START_GENERATION_ATTRIBUTE));
+        responseWrapper.setHeader(HttpHeaders.ETAG, etag);
+        if (ifNoneMatch != null && matches(ifNoneMatch, etag)) {
+            responseWrapper.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private void remember(Resource resource, String key, String etag, long startGeneration) {
+        if (resource.generation.get() != startGeneration) {
+            return;
+        }
+        Map<String, Validator> validators = resource.validators;
+        if (validators.size() >= maxValidators) {
+            validators.values().removeIf(validator -> !validator.isFresh());
+            if (validators.size() >= maxValidators) {
+                validators.clear();
+            }
+        }
+        validators.put(key, new Validator(etag, System.currentTimeMillis() + validatorTtlMillis));
+    }
+
+    /**
+     * A write to a resource without known dependents drops every validator.
+     */
+    private void invalidateAfterWrite(String resourceName) {
+        Set<String> invalidated = INVALIDATED_BY_WRITE.get(resourceName);
+        if (invalidated == null) {
+            resources.values().forEach(Resource::invalidate);
+            return;
+        }
+        invalidated.forEach(name -> resource(name).invalidate());
+    }
+
+    private Resource resource(String resourceName) {
+        return resources.computeIfAbsent(resourceName, name -> new Resource());
+    }
+
+    private static String resourceName(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+
+    private static String validatorKey(HttpServletRequest request) {
+        return request.getRequestURI() + "?" + request.getQueryString()
+                + "|" + request.getHeader(REQUEST_HEADER_SHARER_USER_ID);
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Resource {
+        private final ConcurrentMap<String, Validator> validators = new ConcurrentHashMap<>();
+        private final AtomicLong generation = new AtomicLong();
+
+        void invalidate() {
+            generation.incrementAndGet();
+            validators.clear();
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Validator {
+        private final String etag;
+        private final long expiresAt;
+
+        boolean isFresh() {
+            return System.currentTimeMillis() < expiresAt;
+        }
+    }
+}
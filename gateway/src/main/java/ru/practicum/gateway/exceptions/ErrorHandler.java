@@ -1,5 +1,7 @@
 package ru.practicum.gateway.exceptions;
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.Generated;
 import org.postgresql.util.PSQLException;
 import org.springframework.http.HttpStatus;
@@ -39,6 +41,12 @@ public class ErrorHandler {
         return new ErrorResponse("Error validation Data");
     }
 
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleServerUnavailableException(final RuntimeException e) {
+        return new ErrorResponse(e.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleThrowable(final Throwable e) {
@@ -4,13 +4,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.gateway.client.BaseClient;
+import ru.practicum.gateway.client.HttpClientProperties;
+import ru.practicum.gateway.client.ServerCallGuard;
 import ru.practicum.gateway.item.dto.CommentDtoRequest;
 import ru.practicum.gateway.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -18,45 +24,76 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory, WebClient webClient,
+                      HttpClientProperties properties, ServerCallGuard guard) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                webClient.mutate()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                properties.getMode(),
+                guard,
+                "items"
         );
     }
 
-    public ResponseEntity<Object> getAllItems(Long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<byte[]>> getAllItems(Long userId, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("?from={from}&size={size}", userId, parameters);
+        ));
+        return get(withCursor("?from={from}&size={size}", parameters, after), userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemById(Long itemId, Long userId) {
+    public Mono<ResponseEntity<byte[]>> getItemById(Long itemId, Long userId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> createItem(Long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<byte[]>> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", parameters);
+    }
+
+    public Mono<ResponseEntity<byte[]>> createItem(Long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> updateItem(Long userId, ItemDto itemDto, Long itemId) {
+    public Mono<ResponseEntity<byte[]>> updateItem(Long userId, ItemDto itemDto, Long itemId) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> searchItemForText(String text, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<byte[]>> searchItemForText(String text, Integer from, Integer size,
+                                                         LocalDateTime freeFrom, LocalDateTime freeTo) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "text", text,
                 "from", from,
                 "size", size
-        );
-        return get("/search?text={text}&from={from}&size={size}", parameters);
+        ));
+        String path = "/search?text={text}&from={from}&size={size}";
+        if (freeFrom != null) {
+            parameters.put("freeFrom", freeFrom);
+            path += "&freeFrom={freeFrom}";
+        }
+        if (freeTo != null) {
+            parameters.put("freeTo", freeTo);
+            path += "&freeTo={freeTo}";
+        }
+        return get(path, parameters);
     }
 
-    public ResponseEntity<Object> createComment(Long userId, CommentDtoRequest commentDtoRequest, Long itemId) {
+    public Mono<ResponseEntity<byte[]>> createComment(Long userId, CommentDtoRequest commentDtoRequest, Long itemId) {
         return post("/" + itemId + "/comment", userId, commentDtoRequest);
     }
+
+    @Override
+    protected String endpointGroup(String path) {
+        return path.startsWith("/search") ? "search" : super.endpointGroup(path);
+    }
 }
@@ -2,9 +2,11 @@ package ru.practicum.gateway.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.gateway.item.dto.CommentDtoRequest;
 import ru.practicum.gateway.item.dto.ItemDto;
 import ru.practicum.gateway.validated.Marker;
@@ -12,6 +14,7 @@ import ru.practicum.gateway.validated.Marker;
 import javax.validation.Valid;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/items")
@@ -23,46 +26,59 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @GetMapping
-    public ResponseEntity<Object>
+    public Mono<ResponseEntity<byte[]>>
     getAllItems(@RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId,
                 @RequestParam(name = "from", defaultValue = "0") @Min(0) Integer limit,
-                @RequestParam(defaultValue = "20") @Min(1) @Max(50) Integer size) {
-        return itemClient.getAllItems(userId, limit, size);
+                @RequestParam(defaultValue = "20") @Min(1) @Max(50) Integer size,
+                @RequestParam(required = false) String after) {
+        return itemClient.getAllItems(userId, limit, size, after);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(@PathVariable Long itemId,
-                                              @RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId) {
+    public Mono<ResponseEntity<byte[]>> getItemById(@PathVariable Long itemId,
+                                                    @RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId) {
         return itemClient.getItemById(itemId, userId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<byte[]>>
+    getAvailability(@PathVariable Long itemId,
+                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemClient.getAvailability(itemId, from, to);
+    }
+
     @PostMapping
     @Validated(Marker.OnCreate.class)
-    public ResponseEntity<Object> createItem(@RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId,
-                                             @Valid @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<byte[]>> createItem(@RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId,
+                                                   @Valid @RequestBody ItemDto itemDto) {
         log.info("Create item ={}", itemDto);
         return itemClient.createItem(userId, itemDto);
     }
 
     @PatchMapping("/{itemId}")
     @Validated(Marker.OnUpdate.class)
-    public ResponseEntity<Object> updateItem(@RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId,
-                                             @Valid @RequestBody ItemDto itemDto, @PathVariable Long itemId) {
+    public Mono<ResponseEntity<byte[]>> updateItem(@RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId,
+                                                   @Valid @RequestBody ItemDto itemDto, @PathVariable Long itemId) {
         log.info("Update item ={}", itemDto);
         return itemClient.updateItem(userId, itemDto, itemId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object>
+    public Mono<ResponseEntity<byte[]>>
     searchItemForText(@RequestParam String text,
                       @RequestParam(name = "from", defaultValue = "0") @Min(0) Integer limit,
-                      @RequestParam(defaultValue = "20") @Min(1) @Max(50) Integer size) {
-        log.info("Get items with text {}, from={}, size={}", text, limit, size);
-        return itemClient.searchItemForText(text, limit, size);
+                      @RequestParam(defaultValue = "20") @Min(1) @Max(50) Integer size,
+                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                      LocalDateTime freeFrom,
+                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                      LocalDateTime freeTo) {
+        log.info("Get items with text {}, from={}, size={}, free {} - {}", text, limit, size, freeFrom, freeTo);
+        return itemClient.searchItemForText(text, limit, size, freeFrom, freeTo);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object>
+    public Mono<ResponseEntity<byte[]>>
     createComment(@RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId,
                   @Valid @RequestBody CommentDtoRequest commentDtoRequest,
                   @PathVariable Long itemId) {
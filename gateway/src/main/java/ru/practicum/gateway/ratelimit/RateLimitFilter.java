@@ -0,0 +1,143 @@
+package ru.practicum.gateway.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.gateway.exceptions.ErrorResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per X-Sharer-User-Id; search requests without the header share one anonymous bucket.
+ * Requests over the limit get 429 with Retry-After. Once the map reaches max-keys full buckets are dropped,
+ * at most once a second; while it stays full, new keys share one overflow bucket.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final String REQUEST_HEADER_SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final String SEARCH_PATH = "/items/search";
+    private static final String ANONYMOUS_SEARCH_KEY = "anonymous-search";
+    private static final String OVERFLOW_KEY = "overflow";
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep;
+    private final LongSupplier nanoClock;
+    private final boolean enabled;
+    private final double requestsPerSecond;
+    private final int burst;
+    private final double anonymousSearchRequestsPerSecond;
+    private final int anonymousSearchBurst;
+    private final int maxKeys;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public RateLimitFilter(@Value("${gateway.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${gateway.rate-limit.requests-per-second:100}") double requestsPerSecond,
+                           @Value("${gateway.rate-limit.burst:200}") int burst,
+                           @Value("${gateway.rate-limit.anonymous-search.requests-per-second:200}")
+                           double anonymousSearchRequestsPerSecond,
+                           @Value("${gateway.rate-limit.anonymous-search.burst:400}") int anonymousSearchBurst,
+                           @Value("${gateway.rate-limit.max-keys:100000}") int maxKeys,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this(enabled, requestsPerSecond, burst, anonymousSearchRequestsPerSecond, anonymousSearchBurst, maxKeys,
+                objectMapper, meterRegistry, System::nanoTime);
+    }
+
+    RateLimitFilter(boolean enabled, double requestsPerSecond, int burst, double anonymousSearchRequestsPerSecond,
+                    int anonymousSearchBurst, int maxKeys, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                    LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.lastSweep = new AtomicLong(nanoClock.getAsLong());
+        this.enabled = enabled;
+        this.requestsPerSecond = requestsPerSecond;
+        this.burst = burst;
+        this.anonymousSearchRequestsPerSecond = anonymousSearchRequestsPerSecond;
+        this.anonymousSearchBurst = anonymousSearchBurst;
+        this.maxKeys = maxKeys;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = bucketKey(request);
+        if (key == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        long waitNanos = bucket(key, now).tryAcquire(now);
+        if (waitNanos == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        meterRegistry.counter("gateway.rate-limit.rejected",
+                "bucket", key.startsWith("user:") ? "user" : key).increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse("Too many requests"));
+    }
+
+    private static String bucketKey(HttpServletRequest request) {
+        String userId = request.getHeader(REQUEST_HEADER_SHARER_USER_ID);
+        if (userId != null) {
+            return "user:" + userId;
+        }
+        if (request.getRequestURI().startsWith(SEARCH_PATH)) {
+            return ANONYMOUS_SEARCH_KEY;
+        }
+        return null;
+    }
+
+    private TokenBucket bucket(String key, long now) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            long sweptAt = lastSweep.get();
+            if (now - sweptAt >= SWEEP_INTERVAL_NANOS && lastSweep.compareAndSet(sweptAt, now)) {
+                buckets.values().removeIf(candidate -> candidate.isFull(now));
+            }
+            if (buckets.size() >= maxKeys) {
+                key = OVERFLOW_KEY;
+            }
+        }
+        return buckets.computeIfAbsent(key, newKey -> newBucket(newKey, now));
+    }
+
+    private TokenBucket newBucket(String key, long now) {
+        if (ANONYMOUS_SEARCH_KEY.equals(key)) {
+            return new TokenBucket(anonymousSearchRequestsPerSecond, anonymousSearchBurst, now);
+        }
+        return new TokenBucket(requestsPerSecond, burst, now);
+    }
+}
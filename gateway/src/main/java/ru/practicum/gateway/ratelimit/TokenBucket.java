@@ -0,0 +1,42 @@
+package ru.practicum.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single theoretical arrival time (GCRA), so taking a token is one CAS and no lock.
+ */
+class TokenBucket {
+    private final long emissionIntervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(double tokensPerSecond, int capacity, long now) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / tokensPerSecond);
+        this.capacityNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * @return 0 when a token was taken, otherwise the nanoseconds until one becomes available
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long nextArrival = Math.max(arrival, now) + emissionIntervalNanos;
+            long waitNanos = nextArrival - now - capacityNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, nextArrival)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A full bucket is indistinguishable from a new one and can be dropped.
+     */
+    boolean isFull(long now) {
+        return theoreticalArrival.get() <= now;
+    }
+}
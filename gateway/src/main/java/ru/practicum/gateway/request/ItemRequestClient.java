@@ -4,12 +4,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.gateway.client.BaseClient;
+import ru.practicum.gateway.client.HttpClientProperties;
+import ru.practicum.gateway.client.ServerCallGuard;
 import ru.practicum.gateway.request.dto.ItemRequestDto;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -17,32 +22,40 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             ClientHttpRequestFactory requestFactory, WebClient webClient,
+                             HttpClientProperties properties, ServerCallGuard guard) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                webClient.mutate()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                properties.getMode(),
+                guard,
+                "requests"
         );
     }
 
-    public ResponseEntity<Object> getAllItemRequestOwner(Long userId) {
+    public Mono<ResponseEntity<byte[]>> getAllItemRequestOwner(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> findRequestItemById(Long userId, Long requestId) {
+    public Mono<ResponseEntity<byte[]>> findRequestItemById(Long userId, Long requestId) {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> findAllUsersRequests(Long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<byte[]>> findAllUsersRequests(Long userId, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("/all?from={from}&size={size}", userId, parameters);
+        ));
+        return get(withCursor("/all?from={from}&size={size}", parameters, after), userId, parameters);
     }
 
-    public ResponseEntity<Object> createItemRequest(ItemRequestDto itemRequestDto, Long userId) {
+    public Mono<ResponseEntity<byte[]>> createItemRequest(ItemRequestDto itemRequestDto, Long userId) {
         return post("", userId, itemRequestDto);
     }
 }
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.gateway.request.dto.ItemRequestDto;
 
 import javax.validation.Valid;
@@ -21,31 +22,32 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @GetMapping
-    public ResponseEntity<Object>
+    public Mono<ResponseEntity<byte[]>>
     getAllItemRequestOwner(@RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId) {
         log.info("Get all item request by owner={}", userId);
         return itemRequestClient.getAllItemRequestOwner(userId);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> findRequestItemById(@RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId,
-                                                      @PathVariable Long requestId) {
+    public Mono<ResponseEntity<byte[]>> findRequestItemById(@RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId,
+                                                            @PathVariable Long requestId) {
         log.info("Get item request={}: ", requestId);
         return itemRequestClient.findRequestItemById(userId, requestId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object>
+    public Mono<ResponseEntity<byte[]>>
     findAllUsersRequests(@RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId,
                          @RequestParam(name = "from", defaultValue = "0") @Min(0) Integer limit,
-                         @RequestParam(defaultValue = "20") @Min(1) @Max(50) Integer size) {
-        log.info("Get all users from items requests {}, from={}, size={}", userId, limit, size);
-        return itemRequestClient.findAllUsersRequests(userId, limit, size);
+                         @RequestParam(defaultValue = "20") @Min(1) @Max(50) Integer size,
+                         @RequestParam(required = false) String after) {
+        log.info("Get all users from items requests {}, from={}, size={}, after={}", userId, limit, size, after);
+        return itemRequestClient.findAllUsersRequests(userId, limit, size, after);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createItemRequest(@RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId,
-                                                    @Valid @RequestBody ItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<byte[]>> createItemRequest(@RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId,
+                                                          @Valid @RequestBody ItemRequestDto itemRequestDto) {
         log.info("Create Item Request {}, userId = {}", itemRequestDto, userId);
         return itemRequestClient.createItemRequest(itemRequestDto, userId);
     }
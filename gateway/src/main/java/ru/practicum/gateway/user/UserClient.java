@@ -4,10 +4,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.gateway.client.BaseClient;
+import ru.practicum.gateway.client.HttpClientProperties;
+import ru.practicum.gateway.client.ServerCallGuard;
 import ru.practicum.gateway.user.dto.UserDto;
 
 @Service
@@ -15,32 +19,40 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory, WebClient webClient,
+                      HttpClientProperties properties, ServerCallGuard guard) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                webClient.mutate()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                properties.getMode(),
+                guard,
+                "users"
         );
     }
 
-    public ResponseEntity<Object> getUsers() {
+    public Mono<ResponseEntity<byte[]>> getUsers() {
         return get("");
     }
 
-    public ResponseEntity<Object> createUser(UserDto userDto) {
+    public Mono<ResponseEntity<byte[]>> createUser(UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> updateUser(UserDto userDto, Long userId) {
+    public Mono<ResponseEntity<byte[]>> updateUser(UserDto userDto, Long userId) {
         return patch("/" + userId, userDto);
     }
 
-    public ResponseEntity<Object> deleteUserById(Long userId) {
+    public Mono<ResponseEntity<byte[]>> deleteUserById(Long userId) {
         return delete("/" + userId);
     }
 
-    public ResponseEntity<Object> findUserById(Long userId) {
+    public Mono<ResponseEntity<byte[]>> findUserById(Long userId) {
         return get("/" + userId);
     }
 }
@@ -0,0 +1,128 @@
+package ru.practicum.gateway.client;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BaseClientTest {
+    private final List<ClientRequest> upstreamRequests = new CopyOnWriteArrayList<>();
+    private final List<Sinks.One<ClientResponse>> upstreamResponses = new CopyOnWriteArrayList<>();
+
+    private BaseClient client;
+
+    @BeforeEach
+    void setUp() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    Sinks.One<ClientResponse> response = Sinks.one();
+                    upstreamRequests.add(request);
+                    upstreamResponses.add(response);
+                    return response.asMono();
+                })
+                .build();
+        ServerCallGuard guard = new ServerCallGuard(CircuitBreakerRegistry.ofDefaults(),
+                BulkheadRegistry.ofDefaults(), RetryRegistry.ofDefaults(), 0.1, 10);
+        client = new BaseClient(null, webClient, HttpClientProperties.Mode.REACTIVE, guard, "items");
+    }
+
+    @Test
+    void get_whenIdenticalGetsConcurrent_thenOneUpstreamCallShared() throws Exception {
+        CompletableFuture<ResponseEntity<byte[]>> first = client.get("/items/1", 1L).toFuture();
+        CompletableFuture<ResponseEntity<byte[]>> second = client.get("/items/1", 1L).toFuture();
+
+        respond(0, "{\"id\":1}");
+
+        assertEquals(1, upstreamRequests.size());
+        assertEquals("{\"id\":1}", body(first));
+        assertEquals("{\"id\":1}", body(second));
+    }
+
+    @Test
+    void get_whenUserIdsDiffer_thenResponsesNotShared() throws Exception {
+        CompletableFuture<ResponseEntity<byte[]>> first = client.get("/items/1", 1L).toFuture();
+        CompletableFuture<ResponseEntity<byte[]>> second = client.get("/items/1", 2L).toFuture();
+
+        respond(0, "{\"viewer\":1}");
+        respond(1, "{\"viewer\":2}");
+
+        assertEquals(2, upstreamRequests.size());
+        assertEquals("1", upstreamRequests.get(0).headers().getFirst("X-Sharer-User-Id"));
+        assertEquals("2", upstreamRequests.get(1).headers().getFirst("X-Sharer-User-Id"));
+        assertEquals("{\"viewer\":1}", body(first));
+        assertEquals("{\"viewer\":2}", body(second));
+    }
+
+    @Test
+    void get_whenUpstreamSucceeded_thenNextGetCallsUpstream() throws Exception {
+        CompletableFuture<ResponseEntity<byte[]>> first = client.get("/items/1", 1L).toFuture();
+        respond(0, "{\"id\":1}");
+        body(first);
+
+        CompletableFuture<ResponseEntity<byte[]>> second = client.get("/items/1", 1L).toFuture();
+        respond(1, "{\"id\":1,\"name\":\"new\"}");
+
+        assertEquals(2, upstreamRequests.size());
+        assertEquals("{\"id\":1,\"name\":\"new\"}", body(second));
+    }
+
+    @Test
+    void get_whenUpstreamFailed_thenErrorSharedAndNextGetCallsUpstream() throws Exception {
+        CompletableFuture<ResponseEntity<byte[]>> first = client.get("/items/1", 1L).toFuture();
+        CompletableFuture<ResponseEntity<byte[]>> second = client.get("/items/1", 1L).toFuture();
+        upstreamResponses.get(0).tryEmitError(new IllegalStateException("connection reset"));
+
+        assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+
+        CompletableFuture<ResponseEntity<byte[]>> third = client.get("/items/1", 1L).toFuture();
+        respond(1, "{\"id\":1}");
+
+        assertEquals(2, upstreamRequests.size());
+        assertEquals("{\"id\":1}", body(third));
+    }
+
+    @Test
+    void get_whenCallerCancelled_thenOthersServedAndEntryRemovedWhenCallEnds() throws Exception {
+        Disposable cancelled = client.get("/items/1", 1L).subscribe();
+        CompletableFuture<ResponseEntity<byte[]>> waiting = client.get("/items/1", 1L).toFuture();
+        cancelled.dispose();
+
+        respond(0, "{\"id\":1}");
+
+        assertEquals("{\"id\":1}", body(waiting));
+        assertEquals(1, upstreamRequests.size());
+
+        CompletableFuture<ResponseEntity<byte[]>> next = client.get("/items/1", 1L).toFuture();
+        respond(1, "{\"id\":1}");
+
+        assertEquals(2, upstreamRequests.size());
+        assertEquals("{\"id\":1}", body(next));
+    }
+
+    private void respond(int call, String body) {
+        upstreamResponses.get(call).tryEmitValue(ClientResponse.create(HttpStatus.OK).body(body).build());
+    }
+
+    private static String body(CompletableFuture<ResponseEntity<byte[]>> response) throws Exception {
+        return new String(response.get(5, TimeUnit.SECONDS).getBody(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,130 @@
+package ru.practicum.gateway.etag;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class EtagFilterTest {
+    private EtagFilter filter;
+    private int serverCalls;
+    private String body;
+
+    @BeforeEach
+    void setUp() {
+        filter = new EtagFilter(60_000, 100);
+        serverCalls = 0;
+        body = "{\"id\":1}";
+    }
+
+    @Test
+    void doFilter_whenGet_thenEtagReturnedWithBody() throws Exception {
+        MockHttpServletResponse response = send(get("/items/1", 1L, null));
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
+        assertEquals(body, response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_whenIfNoneMatchMatches_thenNotModifiedWithoutServerCall() throws Exception {
+        String etag = send(get("/items/1", 1L, null)).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse response = send(get("/items/1", 1L, etag));
+
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        assertEquals("", response.getContentAsString());
+        assertEquals(1, serverCalls);
+    }
+
+    @Test
+    void doFilter_whenWriteToDependentResource_thenValidatorDropped() throws Exception {
+        String etag = send(get("/bookings/1", 1L, null)).getHeader(HttpHeaders.ETAG);
+        send(request("PATCH", "/items/1", 2L));
+        body = "{\"id\":1,\"item\":\"renamed\"}";
+
+        MockHttpServletResponse response = send(get("/bookings/1", 1L, etag));
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals(body, response.getContentAsString());
+        assertEquals(3, serverCalls);
+    }
+
+    @Test
+    void doFilter_whenWriteToUnrelatedResource_thenValidatorKept() throws Exception {
+        String etag = send(get("/bookings/1", 1L, null)).getHeader(HttpHeaders.ETAG);
+        send(request("POST", "/requests", 2L));
+
+        MockHttpServletResponse response = send(get("/bookings/1", 1L, etag));
+
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        assertEquals(2, serverCalls);
+    }
+
+    @Test
+    void doFilter_whenOtherUserSendsEtag_thenServerCalled() throws Exception {
+        String etag = send(get("/items/1", 1L, null)).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse response = send(get("/items/1", 2L, etag));
+
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        assertEquals(2, serverCalls);
+    }
+
+    @Test
+    void doFilter_whenServerAnswersError_thenValidatorDropped() throws Exception {
+        String etag = send(get("/items/1", 1L, null)).getHeader(HttpHeaders.ETAG);
+        MockHttpServletRequest failing = get("/items/1", 1L, null);
+        failing.setAttribute("status", HttpStatus.NOT_FOUND.value());
+        MockHttpServletResponse error = send(failing);
+
+        MockHttpServletResponse response = send(get("/items/1", 1L, etag));
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), error.getStatus());
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        assertEquals(3, serverCalls);
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new ServerStub()));
+        return response;
+    }
+
+    private MockHttpServletRequest get(String uri, Long userId, String ifNoneMatch) {
+        MockHttpServletRequest request = request("GET", uri, userId);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return request;
+    }
+
+    private MockHttpServletRequest request(String method, String uri, Long userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.addHeader("X-Sharer-User-Id", userId);
+        return request;
+    }
+
+    private class ServerStub extends HttpServlet {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            serverCalls++;
+            Object status = request.getAttribute("status");
+            response.setStatus(status != null ? (Integer) status : HttpStatus.OK.value());
+            response.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
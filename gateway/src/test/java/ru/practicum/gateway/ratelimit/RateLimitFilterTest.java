@@ -0,0 +1,114 @@
+package ru.practicum.gateway.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RateLimitFilterTest {
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void doFilter_whenBurstExceeded_thenTooManyRequests() throws Exception {
+        RateLimitFilter filter = filter(10, 2, 100);
+
+        assertEquals(HttpStatus.OK.value(), send(filter, "1").getStatus());
+        assertEquals(HttpStatus.OK.value(), send(filter, "1").getStatus());
+        MockHttpServletResponse rejected = send(filter, "1");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getStatus());
+        assertEquals("{\"error\":\"Too many requests\"}", rejected.getContentAsString());
+        assertEquals(1, meterRegistry.counter("gateway.rate-limit.rejected", "bucket", "user").count());
+    }
+
+    @Test
+    void doFilter_whenTimePassed_thenRefilled() throws Exception {
+        RateLimitFilter filter = filter(10, 2, 100);
+        send(filter, "1");
+        send(filter, "1");
+
+        advanceMillis(100);
+
+        assertEquals(HttpStatus.OK.value(), send(filter, "1").getStatus());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), send(filter, "1").getStatus());
+    }
+
+    @Test
+    void doFilter_whenRejected_thenRetryAfterRoundedUpToSeconds() throws Exception {
+        RateLimitFilter filter = filter(0.25, 1, 100);
+        send(filter, "1");
+
+        assertEquals("4", send(filter, "1").getHeader(HttpHeaders.RETRY_AFTER));
+        advanceMillis(1500);
+        assertEquals("3", send(filter, "1").getHeader(HttpHeaders.RETRY_AFTER));
+        advanceMillis(2400);
+        assertEquals("1", send(filter, "1").getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void doFilter_whenUsersDiffer_thenBucketsSeparate() throws Exception {
+        RateLimitFilter filter = filter(1, 1, 100);
+        send(filter, "1");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), send(filter, "1").getStatus());
+        assertEquals(HttpStatus.OK.value(), send(filter, "2").getStatus());
+    }
+
+    @Test
+    void doFilter_whenNoUserIdOutsideSearch_thenNotLimited() throws Exception {
+        RateLimitFilter filter = filter(1, 1, 100);
+
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/users"), response, new MockFilterChain());
+            assertEquals(HttpStatus.OK.value(), response.getStatus());
+            assertNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+        }
+    }
+
+    @Test
+    void doFilter_whenMaxKeysReached_thenNewKeysShareOverflowUntilFullBucketsSwept() throws Exception {
+        RateLimitFilter filter = filter(1, 1, 2);
+        send(filter, "1");
+        send(filter, "2");
+
+        assertEquals(HttpStatus.OK.value(), send(filter, "3").getStatus());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), send(filter, "4").getStatus());
+
+        advanceMillis(2000);
+        assertEquals(HttpStatus.OK.value(), send(filter, "1").getStatus());
+        assertEquals(HttpStatus.OK.value(), send(filter, "5").getStatus());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), send(filter, "1").getStatus());
+
+        assertEquals(HttpStatus.OK.value(), send(filter, "6").getStatus());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), send(filter, "7").getStatus());
+    }
+
+    private RateLimitFilter filter(double requestsPerSecond, int burst, int maxKeys) {
+        return new RateLimitFilter(true, requestsPerSecond, burst, requestsPerSecond, burst, maxKeys,
+                new ObjectMapper(), meterRegistry, clock::get);
+    }
+
+    private MockHttpServletResponse send(RateLimitFilter filter, String userId) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+        request.addHeader("X-Sharer-User-Id", userId);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private void advanceMillis(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+    private static final long START = 1_000_000_000L;
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_whenBurstTaken_thenNextWaitsOneInterval() {
+        TokenBucket bucket = new TokenBucket(10, 3, START);
+
+        assertEquals(0, bucket.tryAcquire(START));
+        assertEquals(0, bucket.tryAcquire(START));
+        assertEquals(0, bucket.tryAcquire(START));
+        assertEquals(100 * MILLI, bucket.tryAcquire(START));
+    }
+
+    @Test
+    void tryAcquire_whenTimePassed_thenRefilledAtRateUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 3, START);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire(START);
+        }
+
+        assertEquals(0, bucket.tryAcquire(START + 100 * MILLI));
+        assertEquals(100 * MILLI, bucket.tryAcquire(START + 100 * MILLI));
+
+        long muchLater = START + 10_000 * MILLI;
+        assertEquals(0, bucket.tryAcquire(muchLater));
+        assertEquals(0, bucket.tryAcquire(muchLater));
+        assertEquals(0, bucket.tryAcquire(muchLater));
+        assertTrue(bucket.tryAcquire(muchLater) > 0);
+    }
+
+    @Test
+    void isFull_whenTokensTakenAndRefilled_thenFullAgain() {
+        TokenBucket bucket = new TokenBucket(10, 3, START);
+        bucket.tryAcquire(START);
+
+        assertFalse(bucket.isFull(START));
+        assertTrue(bucket.isFull(START + 100 * MILLI));
+    }
+
+    @Test
+    void tryAcquire_whenContended_thenExactlyCapacityTaken() throws Exception {
+        int capacity = 1000;
+        TokenBucket bucket = new TokenBucket(1, capacity, START);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> takers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                takers.add(executor.submit(() -> {
+                    start.await();
+                    int taken = 0;
+                    for (int j = 0; j < capacity; j++) {
+                        if (bucket.tryAcquire(START) == 0) {
+                            taken++;
+                        }
+                    }
+                    return taken;
+                }));
+            }
+            start.countDown();
+            int taken = 0;
+            for (Future<Integer> taker : takers) {
+                taken += taker.get(10, TimeUnit.SECONDS);
+            }
+
+            assertEquals(capacity, taken);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
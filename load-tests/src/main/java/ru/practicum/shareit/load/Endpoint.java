@@ -0,0 +1,114 @@
+package ru.practicum.shareit.load;
+
+import java.net.http.HttpRequest;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Requests the traffic mix is made of. Keys are the names used in the mix file.
+ */
+public enum Endpoint {
+    SEARCH("search") {
+        @Override
+        HttpRequest request(ShareItApi api, SeedData data, Random random) {
+            return api.get("/items/search?text=" + data.randomWord(random) + "&from=0&size=20", null);
+        }
+    },
+    SEARCH_FREE("search-free") {
+        @Override
+        HttpRequest request(ShareItApi api, SeedData data, Random random) {
+            LocalDateTime from = futureStart(random);
+            return api.get("/items/search?text=" + data.randomWord(random) + "&from=0&size=20"
+                    + "&freeFrom=" + from + "&freeTo=" + from.plusDays(2), null);
+        }
+    },
+    ITEM_DETAIL("item-detail") {
+        @Override
+        HttpRequest request(ShareItApi api, SeedData data, Random random) {
+            return api.get("/items/" + data.randomItem(random), data.userId(data.randomUser(random)));
+        }
+    },
+    ITEM_AVAILABILITY("item-availability") {
+        @Override
+        HttpRequest request(ShareItApi api, SeedData data, Random random) {
+            LocalDateTime from = futureStart(random);
+            return api.get("/items/" + data.randomItem(random) + "/availability?from=" + from
+                    + "&to=" + from.plusDays(7), null);
+        }
+    },
+    OWNER_ITEMS("owner-items") {
+        @Override
+        HttpRequest request(ShareItApi api, SeedData data, Random random) {
+            return api.get("/items?from=0&size=20", data.userId(data.randomUser(random)));
+        }
+    },
+    BOOKER_BOOKINGS("booker-bookings") {
+        @Override
+        HttpRequest request(ShareItApi api, SeedData data, Random random) {
+            return api.get("/bookings?state=" + randomState(random) + "&from=0&size=20",
+                    data.userId(data.randomUser(random)));
+        }
+    },
+    OWNER_BOOKINGS("owner-bookings") {
+        @Override
+        HttpRequest request(ShareItApi api, SeedData data, Random random) {
+            return api.get("/bookings/owner?state=" + randomState(random) + "&from=0&size=20",
+                    data.userId(data.randomUser(random)));
+        }
+    },
+    CREATE_BOOKING("create-booking") {
+        @Override
+        HttpRequest request(ShareItApi api, SeedData data, Random random) {
+            int owner = data.randomUser(random);
+            LocalDateTime start = futureStart(random);
+            return api.post("/bookings", data.userId(data.otherUser(owner, random)),
+                    ShareItApi.bookingBody(data.randomItemOf(owner, random), start, start.plusDays(1)));
+        }
+    },
+    CREATE_ITEM("create-item") {
+        @Override
+        HttpRequest request(ShareItApi api, SeedData data, Random random) {
+            String word = data.randomWord(random);
+            return api.post("/items", data.userId(data.randomUser(random)), Map.of(
+                    "name", word + " " + random.nextInt(1_000_000),
+                    "description", "Another " + word + " for rent",
+                    "available", true));
+        }
+    };
+
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    abstract HttpRequest request(ShareItApi api, SeedData data, Random random);
+
+    public static Endpoint fromKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint in traffic mix: " + key);
+    }
+
+    /**
+     * A start within the next 90 days, on the hour so that windows line up with the seeded bookings.
+     */
+    private static LocalDateTime futureStart(Random random) {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusDays(1).plusHours(random.nextInt(90 * 24));
+    }
+
+    private static String randomState(Random random) {
+        return STATES[random.nextInt(STATES.length)];
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.load;
+
+import java.util.Arrays;
+
+/**
+ * Latencies and failures of one endpoint, recorded by a single worker thread and merged after the run.
+ */
+public class LatencyRecorder {
+    private long[] latenciesNanos = new long[1024];
+    private int count;
+    private long errors;
+
+    public void record(long latencyNanos, boolean success) {
+        if (count == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+        }
+        latenciesNanos[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    public void merge(LatencyRecorder other) {
+        if (count + other.count > latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count + other.count);
+        }
+        System.arraycopy(other.latenciesNanos, 0, latenciesNanos, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return sorted copy of the recorded latencies
+     */
+    public long[] sortedLatencies() {
+        long[] sorted = Arrays.copyOf(latenciesNanos, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles per endpoint, printed as a table and written as {@code load-report.json}.
+ */
+@Getter
+public class LoadReport {
+    private final long durationMillis;
+    private final int threads;
+    private final List<EndpointStats> endpoints = new ArrayList<>();
+    private final EndpointStats total;
+
+    public LoadReport(Map<Endpoint, LatencyRecorder> recorders, Duration duration, int threads) {
+        this.durationMillis = duration.toMillis();
+        this.threads = threads;
+        LatencyRecorder all = new LatencyRecorder();
+        recorders.forEach((endpoint, recorder) -> {
+            endpoints.add(stats(endpoint.getKey(), recorder));
+            all.merge(recorder);
+        });
+        total = stats("total", all);
+    }
+
+    public void print() {
+        System.out.printf("%n%-20s %10s %10s %8s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (EndpointStats stats : endpoints) {
+            print(stats);
+        }
+        print(total);
+    }
+
+    public void write(Path file) throws IOException {
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file.toFile(), this);
+        System.out.printf("%nReport written to %s%n", file);
+    }
+
+    private static void print(EndpointStats stats) {
+        System.out.printf("%-20s %10d %10.1f %8d %10.2f %10.2f %10.2f %10.2f%n", stats.getEndpoint(),
+                stats.getRequests(), stats.getThroughput(), stats.getErrors(),
+                stats.getP50Millis(), stats.getP95Millis(), stats.getP99Millis(), stats.getMaxMillis());
+    }
+
+    private EndpointStats stats(String endpoint, LatencyRecorder recorder) {
+        long[] sorted = recorder.sortedLatencies();
+        return EndpointStats.builder()
+                .endpoint(endpoint)
+                .requests(recorder.getCount())
+                .errors(recorder.getErrors())
+                .throughput(recorder.getCount() * 1000.0 / durationMillis)
+                .p50Millis(percentileMillis(sorted, 0.50))
+                .p95Millis(percentileMillis(sorted, 0.95))
+                .p99Millis(percentileMillis(sorted, 0.99))
+                .maxMillis(sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0)
+                .build();
+    }
+
+    /**
+     * Nearest-rank percentile.
+     */
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(rank - 1, 0)] / 1_000_000.0;
+    }
+
+    @Getter
+    @Builder
+    public static class EndpointStats {
+        private final String endpoint;
+        private final int requests;
+        private final long errors;
+        private final double throughput;
+        private final double p50Millis;
+        private final double p95Millis;
+        private final double p99Millis;
+        private final double maxMillis;
+    }
+}
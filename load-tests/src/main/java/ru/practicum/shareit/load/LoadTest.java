@@ -0,0 +1,124 @@
+package ru.practicum.shareit.load;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Starts the server on an in-memory H2 database and the gateway in front of it, seeds data through the gateway,
+ * then replays the traffic mix from a fixed number of closed-loop workers. Requests during the warmup are sent
+ * but not recorded.
+ */
+public class LoadTest {
+    private final LoadTestConfig config;
+
+    public LoadTest(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest(LoadTestConfig.fromSystemProperties()).run();
+    }
+
+    public void run() throws IOException, InterruptedException {
+        Files.createDirectories(config.getReportDir());
+        if (!config.isLocal()) {
+            runAgainst(config.getGatewayUrl());
+            return;
+        }
+        try (AppProcess server = AppProcess.start("server", config.getServerJar(), config.getReportDir(),
+                serverArgs());
+             AppProcess gateway = AppProcess.start("gateway", config.getGatewayJar(), config.getReportDir(),
+                     gatewayArgs())) {
+            server.awaitHealthy("http://localhost:" + config.getServerPort());
+            gateway.awaitHealthy(config.getGatewayUrl());
+            runAgainst(config.getGatewayUrl());
+        }
+    }
+
+    private void runAgainst(String gatewayUrl) throws IOException, InterruptedException {
+        ShareItApi api = new ShareItApi(gatewayUrl);
+        SeedData seedData = new Seeder(api, config).seed();
+        TrafficMix mix = TrafficMix.load(config.getMix());
+        System.out.printf("Running %s mix against %s with %d workers: %ds warmup, %ds measured%n", config.getMix(),
+                gatewayUrl, config.getThreads(), config.getWarmup().toSeconds(), config.getDuration().toSeconds());
+
+        long warmupEnd = System.nanoTime() + config.getWarmup().toNanos();
+        long end = warmupEnd + config.getDuration().toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(config.getThreads());
+        List<Future<Map<Endpoint, LatencyRecorder>>> workers = new ArrayList<>();
+        for (int i = 0; i < config.getThreads(); i++) {
+            Random random = new Random(config.getSeed() * 31 + i);
+            workers.add(executor.submit(() -> work(api, seedData, mix, random, warmupEnd, end)));
+        }
+        Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+        try {
+            for (Future<Map<Endpoint, LatencyRecorder>> worker : workers) {
+                worker.get().forEach((endpoint, recorder) ->
+                        recorders.computeIfAbsent(endpoint, e -> new LatencyRecorder()).merge(recorder));
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        LoadReport report = new LoadReport(recorders, config.getDuration(), config.getThreads());
+        report.print();
+        report.write(config.getReportDir().resolve("load-report.json"));
+    }
+
+    private static Map<Endpoint, LatencyRecorder> work(ShareItApi api, SeedData seedData, TrafficMix mix,
+                                                       Random random, long warmupEnd, long end) {
+        Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+        long now = System.nanoTime();
+        while (now < end) {
+            Endpoint endpoint = mix.next(random);
+            long startedAt = now;
+            boolean success;
+            try {
+                success = api.send(endpoint.request(api, seedData, random)) / 100 == 2;
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            now = System.nanoTime();
+            if (startedAt >= warmupEnd) {
+                recorders.computeIfAbsent(endpoint, e -> new LatencyRecorder()).record(now - startedAt, success);
+            }
+        }
+        return recorders;
+    }
+
+    private List<String> serverArgs() {
+        return List.of(
+                "--server.port=" + config.getServerPort(),
+                "--spring.datasource.url=jdbc:h2:mem:shareit;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.sql.init.platform=h2",
+                "--logging.level.org.springframework.transaction.interceptor=INFO",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO");
+    }
+
+    private List<String> gatewayArgs() {
+        return List.of(
+                "--server.port=" + config.getGatewayPort(),
+                "--shareit-server.url=http://localhost:" + config.getServerPort(),
+                "--gateway.rate-limit.enabled=" + Boolean.getBoolean("load.rate-limit"),
+                "--logging.level.org.springframework.web.client.RestTemplate=INFO",
+                "--logging.level.org.apache.http=INFO",
+                "--logging.level.httpclient.wire=INFO");
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.load;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load test settings, read from {@code load.*} system properties.
+ */
+@Getter
+@Builder
+public class LoadTestConfig {
+    /**
+     * Gateway url of an already running deployment. When empty, the server and gateway jars are started locally.
+     */
+    private final String target;
+    private final Path serverJar;
+    private final Path gatewayJar;
+    private final int serverPort;
+    private final int gatewayPort;
+    private final Path reportDir;
+    private final String mix;
+    private final int users;
+    private final int itemsPerUser;
+    private final int bookingsPerItem;
+    private final int threads;
+    private final Duration warmup;
+    private final Duration duration;
+    private final long seed;
+
+    public static LoadTestConfig fromSystemProperties() {
+        return LoadTestConfig.builder()
+                .target(System.getProperty("load.target", ""))
+                .serverJar(Path.of(System.getProperty("load.server-jar",
+                        "server/target/shareit-server-0.0.1-SNAPSHOT.jar")))
+                .gatewayJar(Path.of(System.getProperty("load.gateway-jar",
+                        "gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar")))
+                .serverPort(Integer.getInteger("load.server-port", 19090))
+                .gatewayPort(Integer.getInteger("load.gateway-port", 18080))
+                .reportDir(Path.of(System.getProperty("load.report-dir", "load-report")))
+                .mix(System.getProperty("load.mix", "classpath:traffic-mix.properties"))
+                .users(Integer.getInteger("load.users", 200))
+                .itemsPerUser(Integer.getInteger("load.items-per-user", 5))
+                .bookingsPerItem(Integer.getInteger("load.bookings-per-item", 3))
+                .threads(Integer.getInteger("load.threads", 32))
+                .warmup(Duration.ofSeconds(Long.getLong("load.warmup-seconds", 30L)))
+                .duration(Duration.ofSeconds(Long.getLong("load.duration-seconds", 120L)))
+                .seed(Long.getLong("load.seed", 42L))
+                .build();
+    }
+
+    public boolean isLocal() {
+        return target.isBlank();
+    }
+
+    public String getGatewayUrl() {
+        return isLocal() ? "http://localhost:" + gatewayPort : target;
+    }
+}
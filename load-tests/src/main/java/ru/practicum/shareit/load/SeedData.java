@@ -0,0 +1,49 @@
+package ru.practicum.shareit.load;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Users and items created before the run, with the random picks the traffic mix draws from.
+ */
+@RequiredArgsConstructor
+public class SeedData {
+    static final List<String> WORDS = List.of("drill", "saw", "ladder", "tent", "bike", "camera", "kayak",
+            "projector", "guitar", "scooter");
+
+    private final long[] userIds;
+    /**
+     * Item ids per owner, indexed like {@link #userIds}.
+     */
+    private final long[][] itemIdsByOwner;
+
+    public int randomUser(Random random) {
+        return random.nextInt(userIds.length);
+    }
+
+    public long userId(int user) {
+        return userIds[user];
+    }
+
+    public long randomItemOf(int owner, Random random) {
+        long[] itemIds = itemIdsByOwner[owner];
+        return itemIds[random.nextInt(itemIds.length)];
+    }
+
+    public long randomItem(Random random) {
+        return randomItemOf(randomUser(random), random);
+    }
+
+    /**
+     * A user other than the given one, so that bookers never book their own items.
+     */
+    public int otherUser(int user, Random random) {
+        return (user + 1 + random.nextInt(userIds.length - 1)) % userIds.length;
+    }
+
+    public String randomWord(Random random) {
+        return WORDS.get(random.nextInt(WORDS.size()));
+    }
+}
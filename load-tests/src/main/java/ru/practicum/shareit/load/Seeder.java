@@ -0,0 +1,91 @@
+package ru.practicum.shareit.load;
+
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Creates users, their items and future bookings of those items through the gateway.
+ * Every other booking of an item is approved, so item details and owner booking lists have real data to join.
+ */
+@RequiredArgsConstructor
+public class Seeder {
+    private final ShareItApi api;
+    private final LoadTestConfig config;
+
+    public SeedData seed() throws InterruptedException {
+        long startedAt = System.nanoTime();
+        int users = config.getUsers();
+        if (users < 2) {
+            throw new IllegalArgumentException("At least two users are needed, one to own and one to book");
+        }
+        long runId = System.currentTimeMillis();
+        long[] userIds = new long[users];
+        long[][] itemIdsByOwner = new long[users][config.getItemsPerUser()];
+        ExecutorService executor = Executors.newFixedThreadPool(config.getThreads());
+        try {
+            forEachUser(executor, users, user ->
+                    userIds[user] = api.createUser("user " + user, "load" + runId + "-" + user + "@shareit.ru"));
+            SeedData seedData = new SeedData(userIds, itemIdsByOwner);
+            LocalDateTime bookingsFrom = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+            forEachUser(executor, users, owner -> {
+                Random random = new Random(config.getSeed() + owner);
+                for (int i = 0; i < config.getItemsPerUser(); i++) {
+                    String word = seedData.randomWord(random);
+                    long itemId = api.createItem(userIds[owner], capitalize(word) + " " + owner + "-" + i,
+                            "Well kept " + word + " for rent, " + seedData.randomWord(random) + " included");
+                    itemIdsByOwner[owner][i] = itemId;
+                    for (int b = 0; b < config.getBookingsPerItem(); b++) {
+                        LocalDateTime start = bookingsFrom.plusDays(2L * b);
+                        long bookingId = api.createBooking(userIds[seedData.otherUser(owner, random)], itemId,
+                                start, start.plusDays(1));
+                        if (b % 2 == 0) {
+                            api.approveBooking(userIds[owner], bookingId);
+                        }
+                    }
+                }
+            });
+            System.out.printf("Seeded %d users, %d items, %d bookings in %d ms%n", users,
+                    users * config.getItemsPerUser(), users * config.getItemsPerUser() * config.getBookingsPerItem(),
+                    (System.nanoTime() - startedAt) / 1_000_000);
+            return seedData;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void forEachUser(ExecutorService executor, int users, UserTask task) throws InterruptedException {
+        List<Future<?>> futures = new ArrayList<>(users);
+        for (int user = 0; user < users; user++) {
+            int index = user;
+            futures.add(executor.submit(() -> {
+                task.run(index);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Seeding failed", e.getCause());
+            }
+        }
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    @FunctionalInterface
+    private interface UserTask {
+        void run(int user) throws Exception;
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Requests against the gateway API.
+ */
+public class ShareItApi {
+    private static final String REQUEST_HEADER_SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public ShareItApi(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public HttpRequest get(String path, Long userId) {
+        return request(path, userId).GET().build();
+    }
+
+    public HttpRequest post(String path, Long userId, Map<String, Object> body) {
+        return request(path, userId)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(body)))
+                .build();
+    }
+
+    public HttpRequest patch(String path, Long userId) {
+        return request(path, userId)
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    /**
+     * @return the response status code, with the body read and discarded
+     */
+    public int send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    public long createUser(String name, String email) throws IOException, InterruptedException {
+        return idOf(post("/users", null, Map.of("name", name, "email", email)));
+    }
+
+    public long createItem(long ownerId, String name, String description) throws IOException, InterruptedException {
+        return idOf(post("/items", ownerId, Map.of("name", name, "description", description, "available", true)));
+    }
+
+    public long createBooking(long bookerId, long itemId, LocalDateTime start, LocalDateTime end)
+            throws IOException, InterruptedException {
+        return idOf(post("/bookings", bookerId, bookingBody(itemId, start, end)));
+    }
+
+    public void approveBooking(long ownerId, long bookingId) throws IOException, InterruptedException {
+        HttpRequest request = patch("/bookings/" + bookingId + "?approved=true", ownerId);
+        checkOk(request, client.send(request, HttpResponse.BodyHandlers.ofString()));
+    }
+
+    public static Map<String, Object> bookingBody(long itemId, LocalDateTime start, LocalDateTime end) {
+        return Map.of("itemId", itemId, "start", start.toString(), "end", end.toString());
+    }
+
+    private HttpRequest.Builder request(String path, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (userId != null) {
+            builder.header(REQUEST_HEADER_SHARER_USER_ID, String.valueOf(userId));
+        }
+        return builder;
+    }
+
+    private long idOf(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        checkOk(request, response);
+        JsonNode id = objectMapper.readTree(response.body()).get("id");
+        if (id == null) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned no id");
+        }
+        return id.asLong();
+    }
+
+    private static void checkOk(HttpRequest request, HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " answered "
+                    + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    private String toJson(Map<String, Object> body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Relative request weights per endpoint, loaded from a properties file of {@code <endpoint-key>=<weight>} lines.
+ */
+public class TrafficMix {
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+
+    private TrafficMix(Map<Endpoint, Integer> weights) {
+        endpoints = new Endpoint[weights.size()];
+        cumulativeWeights = new int[weights.size()];
+        int i = 0;
+        int total = 0;
+        for (Map.Entry<Endpoint, Integer> entry : weights.entrySet()) {
+            total += entry.getValue();
+            endpoints[i] = entry.getKey();
+            cumulativeWeights[i] = total;
+            i++;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Traffic mix has no requests with a positive weight");
+        }
+    }
+
+    public static TrafficMix load(String location) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = open(location)) {
+            properties.load(in);
+        }
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String key : properties.stringPropertyNames()) {
+            int weight = Integer.parseInt(properties.getProperty(key).trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + key);
+            }
+            if (weight > 0) {
+                weights.put(Endpoint.fromKey(key.trim()), weight);
+            }
+        }
+        return new TrafficMix(weights);
+    }
+
+    public Endpoint next(Random random) {
+        int point = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException("Weight " + point + " out of range");
+    }
+
+    private static InputStream open(String location) throws IOException {
+        if (location.startsWith(CLASSPATH_PREFIX)) {
+            String resource = location.substring(CLASSPATH_PREFIX.length());
+            InputStream in = TrafficMix.class.getClassLoader().getResourceAsStream(resource);
+            if (in == null) {
+                throw new IllegalArgumentException("Traffic mix " + location + " not found");
+            }
+            return in;
+        }
+        return Files.newInputStream(Path.of(location));
+    }
+}
@@ -1,12 +1,15 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.entity.Booking;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.statusEnum.StatusState;
+import ru.practicum.shareit.pagination.Cursor;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -42,24 +45,37 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDtoResponse>
+    public ResponseEntity<List<BookingDtoResponse>>
     getAllBookingsByAuthor(@RequestParam(defaultValue = "ALL") StatusState state,
                            @RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId,
                            @RequestParam(name = "from", defaultValue = "0") Integer limit,
-                           @RequestParam(defaultValue = "20") Integer size) {
-        return service.getAllBookingsByAuthor(state, userId, limit, size).stream()
-                .map(mapper::toBookingDtoResponse)
-                .collect(Collectors.toList());
+                           @RequestParam(defaultValue = "20") Integer size,
+                           @RequestParam(required = false) String after) {
+        Slice<Booking> bookings = after == null
+                ? service.getAllBookingsByAuthor(state, userId, limit, size)
+                : service.getAllBookingsByAuthor(state, userId, Cursor.decode(after, true), size);
+        return toBookingPage(bookings);
     }
 
     @GetMapping("/owner")
-    public List<BookingDtoResponse>
+    public ResponseEntity<List<BookingDtoResponse>>
     getAllBookingByOwner(@RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId,
                          @RequestParam(defaultValue = "ALL") StatusState state,
                          @RequestParam(name = "from", defaultValue = "0") Integer limit,
-                         @RequestParam(defaultValue = "20") Integer size) {
-        return service.getAllBookingByOwner(state, userId, limit, size).stream()
-                .map(mapper::toBookingDtoResponse)
-                .collect(Collectors.toList());
+                         @RequestParam(defaultValue = "20") Integer size,
+                         @RequestParam(required = false) String after) {
+        Slice<Booking> bookings = after == null
+                ? service.getAllBookingByOwner(state, userId, limit, size)
+                : service.getAllBookingByOwner(state, userId, Cursor.decode(after, true), size);
+        return toBookingPage(bookings);
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<List<BookingDtoResponse>> toBookingPage(Slice<Booking> bookings) {
+        return ResponseEntity.ok()
+                .headers(Cursor.nextCursorHeaders(bookings,
+                        booking -> Cursor.of(booking.getStartDate(), booking.getId())))
+                .body(bookings.stream()
+                        .map(mapper::toBookingDtoResponse)
+                        .collect(Collectors.toList()));
+    }
+}
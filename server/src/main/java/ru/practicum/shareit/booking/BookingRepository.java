@@ -1,38 +1,83 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.statusEnum.StatusBooking;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking>,
+        BookingRepositoryCustom {
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long id);
+
     List<Booking> findAllByBooker_IdOrderByStartDateDesc(Long userId);
 
-    Page<Booking> findAllByBooker_IdOrderByStartDateDesc(Long userId, Pageable pageable);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query(value = "UPDATE bookings SET status = ?3 \n" +
+            "WHERE id = ?1 AND status <> ?3 \n" +
+            "AND item_id IN (SELECT i.id FROM items i WHERE i.owner_id = ?2)", nativeQuery = true)
+    int updateStatusByOwner(Long bookingId, Long ownerId, String status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query(value = "UPDATE bookings SET status = 'APPROVED' \n" +
+            "WHERE id = ?1 AND status <> 'APPROVED' \n" +
+            "AND item_id IN (SELECT i.id FROM items i WHERE i.owner_id = ?2) \n" +
+            "AND NOT EXISTS (SELECT 1 FROM bookings o \n" +
+            "WHERE o.item_id = bookings.item_id AND o.status = 'APPROVED' \n" +
+            "AND o.start_date < bookings.end_date AND o.end_date > bookings.start_date)", nativeQuery = true)
+    int approveByOwner(Long bookingId, Long ownerId);
 
     @Query(value = "SELECT * FROM bookings b \n" +
             "WHERE b.booker_id = ?1\n" +
             "ORDER BY b.start_date DESC \n" +
             "OFFSET ?2 ROWS", nativeQuery = true)
-    Page<Booking> findAllByBooker_IdOrderByStartDateDesc(Long userId, Integer limit, Pageable pageable);
+    Slice<Booking> findAllByBooker_IdOrderByStartDateDesc(Long userId, Integer limit, Pageable pageable);
 
     List<Booking> findAllByItem_Owner_IdOrderByStartDateDesc(Long userId);
 
-    Page<Booking> findAllByItem_Owner_IdOrderByStartDateDesc(Long userId, Pageable pageable);
+    boolean existsByItem_Owner_Id(Long userId);
+
+    /*
+     * The item reads below filter on b.item.id, which maps to the item_id column. The derived equivalents
+     * left-joined items and filtered on items.id, so H2 could not use the item_id indexes of bookings.
+     */
+    @Query("SELECT b FROM Booking b WHERE b.item.id = ?1 AND b.status = ?2 AND b.endDate > ?3 " +
+            "ORDER BY b.startDate ASC")
+    List<Booking> findAllByItem_IdAndStatusAndEndDateAfterOrderByStartDateAsc(Long itemId, StatusBooking status,
+                                                                             LocalDateTime after);
+
+    @Query("SELECT b FROM Booking b WHERE b.item.id = ?1 AND b.status = ?2 AND b.startDate < ?3 " +
+            "AND b.endDate > ?4 ORDER BY b.startDate ASC")
+    List<Booking> findAllByItem_IdAndStatusAndStartDateBeforeAndEndDateAfterOrderByStartDateAsc(
+            Long itemId, StatusBooking status, LocalDateTime end, LocalDateTime start);
+
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN TRUE ELSE FALSE END FROM Booking b " +
+            "WHERE b.item.id = ?1 AND b.status = ?2 AND b.startDate < ?3 AND b.endDate > ?4")
+    boolean existsByItem_IdAndStatusAndStartDateBeforeAndEndDateAfter(Long itemId, StatusBooking status,
+                                                                     LocalDateTime end, LocalDateTime start);
 
     @Query(value = "SELECT * FROM bookings b \n" +
             "JOIN items i ON i.id = b.item_id \n" +
             "WHERE i.owner_id = ?1\n" +
             "ORDER BY b.start_date DESC \n" +
             "OFFSET ?2 ROWS", nativeQuery = true)
-    Page<Booking> findAllByItem_Owner_IdOrderByStartDateDesc(Long userId, Integer page, Pageable pageable);
+    Slice<Booking> findAllByItem_Owner_IdOrderByStartDateDesc(Long userId, Integer page, Pageable pageable);
 
     @Query(value = "SELECT * FROM bookings b \n" +
             "WHERE b.booker_id = ?1\n" +
@@ -48,4 +93,20 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "WHERE b.item_id = ?1 AND b.start_date >= CAST (?2 AS timestamp)\n" +
             "ORDER BY end_date ASC limit 1", nativeQuery = true)
     Optional<Booking> findFirstByItem_IdAndStartDateAfterOrderByEndDateAsc(Long itemId, LocalDateTime afterDate);
+
+    @Query("SELECT MIN(b.startDate) FROM Booking b WHERE b.item.id = ?1 AND b.startDate >= ?2")
+    Optional<LocalDateTime> findNextStartDateByItemId(Long itemId, LocalDateTime afterDate);
+
+    @Query(value = "SELECT id, start_date, end_date, item_id, booker_id, status FROM (\n" +
+            "SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.end_date DESC) AS rn \n" +
+            "FROM bookings b \n" +
+            "WHERE b.item_id IN (?1) AND b.start_date <= CAST (?2 AS timestamp)) AS last_b \n" +
+            "WHERE last_b.rn = 1 \n" +
+            "UNION ALL \n" +
+            "SELECT id, start_date, end_date, item_id, booker_id, status FROM (\n" +
+            "SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.end_date ASC) AS rn \n" +
+            "FROM bookings b \n" +
+            "WHERE b.item_id IN (?1) AND b.start_date > CAST (?2 AS timestamp)) AS next_b \n" +
+            "WHERE next_b.rn = 1", nativeQuery = true)
+    List<Booking> findLastAndNextBookingsByItemIds(Collection<Long> itemIds, LocalDateTime currentDate);
 }
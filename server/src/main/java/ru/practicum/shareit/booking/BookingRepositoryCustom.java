@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.entity.Booking;
+
+public interface BookingRepositoryCustom {
+
+    Slice<Booking> findSlice(Specification<Booking> specification, Pageable pageable);
+}
@@ -1,8 +1,10 @@
 package ru.practicum.shareit.booking;
 
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.booking.entity.Booking;
 import ru.practicum.shareit.booking.statusEnum.StatusState;
+import ru.practicum.shareit.pagination.Cursor;
 
 import java.util.List;
 
@@ -13,7 +15,11 @@ public interface BookingService {
 
     Booking getBookingDetails(Long bookingId, Long userId);
 
-    List<Booking> getAllBookingsByAuthor(StatusState state, Long userId, Integer limit, Integer size);
+    Slice<Booking> getAllBookingsByAuthor(StatusState state, Long userId, Integer limit, Integer size);
 
-    List<Booking> getAllBookingByOwner(StatusState state, Long userId, Integer limit, Integer size);
+    Slice<Booking> getAllBookingByOwner(StatusState state, Long userId, Integer limit, Integer size);
+
+    Slice<Booking> getAllBookingsByAuthor(StatusState state, Long userId, Cursor after, Integer size);
+
+    Slice<Booking> getAllBookingByOwner(StatusState state, Long userId, Cursor after, Integer size);
 }
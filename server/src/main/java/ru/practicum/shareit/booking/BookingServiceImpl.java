@@ -2,24 +2,35 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.entity.Booking;
 import ru.practicum.shareit.booking.statusEnum.StatusBooking;
 import ru.practicum.shareit.booking.statusEnum.StatusState;
+import ru.practicum.shareit.exceptions.BookingConflictException;
 import ru.practicum.shareit.exceptions.BookingNotFoundException;
 import ru.practicum.shareit.exceptions.InvalidDataException;
 import ru.practicum.shareit.exceptions.ItemNotFoundException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.availability.AvailabilityTimelines;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
 import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.entity.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+
+import static org.springframework.data.jpa.domain.Specification.where;
+import static ru.practicum.shareit.booking.specification.BookingSpecifications.byBooker;
+import static ru.practicum.shareit.booking.specification.BookingSpecifications.byItemOwner;
+import static ru.practicum.shareit.booking.specification.BookingSpecifications.byState;
+import static ru.practicum.shareit.booking.specification.BookingSpecifications.seekAfter;
 
 
 @Service
@@ -29,10 +40,14 @@ public class BookingServiceImpl implements BookingService {
 
     private static final String ERROR_MESSAGE_BOOKING_404 = "Booking not found";
     private static final String ERROR_MESSAGE_USER_WITH_ID_404 = "User with id not found: ";
+    private static final String ERROR_MESSAGE_BOOKING_OVERLAP = "Item is already booked for these dates";
+    private static final Sort SORT_BY_START_DATE_DESC = Sort.by(Sort.Direction.DESC, "startDate", "id");
 
     private final BookingRepository repository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ItemDetailsCache itemDetailsCache;
+    private final AvailabilityTimelines availabilityTimelines;
 
     @Override
     public Booking createBookingRequest(Booking booking, Long userId) {
@@ -44,7 +59,11 @@ public class BookingServiceImpl implements BookingService {
             throw new InvalidDataException("Item not available for booking");
         }
         if (!userOwner.getId().equals(userId)) {
-            return repository.save(booking);
+            checkNoApprovedOverlap(booking, item.getId());
+            Booking savedBooking = repository.save(booking);
+            itemDetailsCache.evict(item.getId());
+            availabilityTimelines.onBookingChanged(savedBooking);
+            return savedBooking;
         } else {
             log.error("Owner can't create request to create own thing ");
             throw new UserNotFoundException("Owner can't create request to create own thing");
@@ -53,28 +72,23 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public Booking updateBookingStatusByOwner(Long bookingId, Long userId, boolean approved) {
+        int updatedRows;
+        try {
+            updatedRows = approved
+                    ? repository.approveByOwner(bookingId, userId)
+                    : repository.updateStatusByOwner(bookingId, userId, StatusBooking.REJECTED.name());
+        } catch (DataIntegrityViolationException e) {
+            log.error("Concurrent approval overlaps booking {}", bookingId);
+            throw new BookingConflictException(ERROR_MESSAGE_BOOKING_OVERLAP);
+        }
         Booking booking = repository.findById(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException(ERROR_MESSAGE_BOOKING_404));
-        User userOwner = booking.getItem().getOwner();
-        if (booking.getStatus().equals(StatusBooking.APPROVED) && approved) {
-            log.info("Status already: approved");
-            throw new InvalidDataException("Status already: approved");
-        }
-        if (booking.getStatus().equals(StatusBooking.REJECTED) && !approved) {
-            log.info("Status already: rejected");
-            throw new InvalidDataException("Status already: rejected");
-        }
-        if (userId.equals(userOwner.getId())) {
-            if (approved) {
-                booking.setStatus(StatusBooking.APPROVED);
-            } else {
-                booking.setStatus(StatusBooking.REJECTED);
-            }
-            return repository.save(booking);
-        } else {
-            log.error("Only the owner of the item can confirm the booking.");
-            throw new UserNotFoundException("Only the owner of the item can confirm the booking.");
+        if (updatedRows == 0) {
+            throw statusNotChanged(booking, userId, approved);
         }
+        itemDetailsCache.evict(booking.getItem().getId());
+        availabilityTimelines.onBookingChanged(booking);
+        return booking;
     }
 
     @Override
@@ -93,53 +107,74 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<Booking> getAllBookingsByAuthor(StatusState state, Long userId, Integer limit, Integer size) {
+    public Slice<Booking> getAllBookingsByAuthor(StatusState state, Long userId, Integer limit, Integer size) {
         validateExistsUser(userId);
-        return getAllBookingsWithStateParameter(state, repository
-                .findAllByBooker_IdOrderByStartDateDesc(userId, PageRequest.of(limit / size, size))
-                .getContent());
+        return repository
+                .findSlice(where(byBooker(userId)).and(byState(state, LocalDateTime.now())),
+                        PageRequest.of(limit / size, size, SORT_BY_START_DATE_DESC));
     }
 
     @Override
-    public List<Booking> getAllBookingByOwner(StatusState state, Long userId, Integer limit, Integer size) {
+    public Slice<Booking> getAllBookingByOwner(StatusState state, Long userId, Integer limit, Integer size) {
         validateExistsUser(userId);
-        List<Booking> listBookingsByOwner = repository
-                .findAllByItem_Owner_IdOrderByStartDateDesc(userId, PageRequest.of(limit / size, size))
-                .getContent();
-        if (listBookingsByOwner.isEmpty()) {
-            log.error("This user has no item");
-            throw new ItemNotFoundException("This user has no item");
+        return checkOwnerHasItems(repository
+                .findSlice(where(byItemOwner(userId)).and(byState(state, LocalDateTime.now())),
+                        PageRequest.of(limit / size, size, SORT_BY_START_DATE_DESC)), userId);
+    }
+
+    @Override
+    public Slice<Booking> getAllBookingsByAuthor(StatusState state, Long userId, Cursor after, Integer size) {
+        validateExistsUser(userId);
+        return repository
+                .findSlice(where(byBooker(userId)).and(byState(state, LocalDateTime.now())).and(seekAfter(after)),
+                        PageRequest.of(0, size, SORT_BY_START_DATE_DESC));
+    }
+
+    @Override
+    public Slice<Booking> getAllBookingByOwner(StatusState state, Long userId, Cursor after, Integer size) {
+        validateExistsUser(userId);
+        return checkOwnerHasItems(repository
+                .findSlice(where(byItemOwner(userId)).and(byState(state, LocalDateTime.now())).and(seekAfter(after)),
+                        PageRequest.of(0, size, SORT_BY_START_DATE_DESC)), userId);
+    }
+
+    /**
+     * The conditional update changed nothing, so the booking as it is now tells why.
+     */
+    private RuntimeException statusNotChanged(Booking booking, Long userId, boolean approved) {
+        if (booking.getStatus().equals(StatusBooking.APPROVED) && approved) {
+            log.info("Status already: approved");
+            return new InvalidDataException("Status already: approved");
         }
-        return getAllBookingsWithStateParameter(state, listBookingsByOwner);
+        if (booking.getStatus().equals(StatusBooking.REJECTED) && !approved) {
+            log.info("Status already: rejected");
+            return new InvalidDataException("Status already: rejected");
+        }
+        if (!userId.equals(booking.getItem().getOwner().getId())) {
+            log.error("Only the owner of the item can confirm the booking.");
+            return new UserNotFoundException("Only the owner of the item can confirm the booking.");
+        }
+        log.error(ERROR_MESSAGE_BOOKING_OVERLAP);
+        return new BookingConflictException(ERROR_MESSAGE_BOOKING_OVERLAP);
     }
 
-    private List<Booking> getAllBookingsWithStateParameter(StatusState state, List<Booking> listBookingsByUser) {
-        LocalDateTime currentDateTime = LocalDateTime.now();
-        switch (state) {
-            case PAST:
-                return getBookings(listBookingsByUser, booking -> booking.getEndDate().isBefore(currentDateTime) &&
-                        booking.getStatus().equals(StatusBooking.APPROVED));
-            case FUTURE:
-                return getBookings(listBookingsByUser,
-                        booking -> booking.getStartDate().isAfter(currentDateTime));
-            case CURRENT:
-                return getBookings(listBookingsByUser,
-                        booking -> booking.getStartDate().isBefore(currentDateTime) &&
-                                booking.getEndDate().isAfter(currentDateTime) &&
-                                (booking.getStatus().equals(StatusBooking.APPROVED)
-                                        || booking.getStatus().equals(StatusBooking.REJECTED)));
-            case WAITING:
-                return getBookings(listBookingsByUser, booking -> booking.getStatus().equals(StatusBooking.WAITING));
-            case REJECTED:
-                return getBookings(listBookingsByUser, booking -> booking.getStatus().equals(StatusBooking.REJECTED));
-            default:
-                return listBookingsByUser;
+    /**
+     * Fast path for the common case; the exclusion constraint on approved bookings still decides concurrent writes.
+     */
+    private void checkNoApprovedOverlap(Booking booking, Long itemId) {
+        if (repository.existsByItem_IdAndStatusAndStartDateBeforeAndEndDateAfter(itemId, StatusBooking.APPROVED,
+                booking.getEndDate(), booking.getStartDate())) {
+            log.error(ERROR_MESSAGE_BOOKING_OVERLAP);
+            throw new BookingConflictException(ERROR_MESSAGE_BOOKING_OVERLAP);
         }
     }
 
-    private List<Booking> getBookings(List<Booking> listBookings,
-                                      Predicate<Booking> predicate) {
-        return listBookings.stream().filter(predicate).collect(Collectors.toList());
+    private Slice<Booking> checkOwnerHasItems(Slice<Booking> listBookingsByOwner, Long userId) {
+        if (listBookingsByOwner.isEmpty() && !repository.existsByItem_Owner_Id(userId)) {
+            log.error("This user has no item");
+            throw new ItemNotFoundException("This user has no item");
+        }
+        return listBookingsByOwner;
     }
 
     private void validateExistsUser(Long userId) {
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.booking.specification;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.statusEnum.StatusBooking;
+import ru.practicum.shareit.booking.statusEnum.StatusState;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.pagination.Cursor;
+
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import java.time.LocalDateTime;
+
+public final class BookingSpecifications {
+
+    private BookingSpecifications() {
+    }
+
+    public static Specification<Booking> byBooker(Long bookerId) {
+        return (root, query, builder) -> builder.equal(root.get("booker").get("id"), bookerId);
+    }
+
+    /**
+     * Filters on the owner's item ids rather than through the item join, which is a left fetch join and would make
+     * the database read every booking before it can drop the ones of other owners.
+     */
+    public static Specification<Booking> byItemOwner(Long ownerId) {
+        return (root, query, builder) -> {
+            Subquery<Long> ownerItems = query.subquery(Long.class);
+            Root<Item> item = ownerItems.from(Item.class);
+            ownerItems.select(item.get("id")).where(builder.equal(item.get("owner").get("id"), ownerId));
+            return root.get("item").get("id").in(ownerItems);
+        };
+    }
+
+    public static Specification<Booking> byState(StatusState state, LocalDateTime currentDateTime) {
+        switch (state) {
+            case PAST:
+                return (root, query, builder) -> builder.and(
+                        builder.lessThan(root.get("endDate"), currentDateTime),
+                        builder.equal(root.get("status"), StatusBooking.APPROVED));
+            case FUTURE:
+                return (root, query, builder) -> builder.greaterThan(root.get("startDate"), currentDateTime);
+            case CURRENT:
+                return (root, query, builder) -> builder.and(
+                        builder.lessThan(root.get("startDate"), currentDateTime),
+                        builder.greaterThan(root.get("endDate"), currentDateTime),
+                        root.get("status").in(StatusBooking.APPROVED, StatusBooking.REJECTED));
+            case WAITING:
+                return (root, query, builder) -> builder.equal(root.get("status"), StatusBooking.WAITING);
+            case REJECTED:
+                return (root, query, builder) -> builder.equal(root.get("status"), StatusBooking.REJECTED);
+            default:
+                return (root, query, builder) -> builder.conjunction();
+        }
+    }
+
+    public static Specification<Booking> seekAfter(Cursor cursor) {
+        return (root, query, builder) -> builder.or(
+                builder.lessThan(root.get("startDate"), cursor.getTimestamp()),
+                builder.and(
+                        builder.equal(root.get("startDate"), cursor.getTimestamp()),
+                        builder.lessThan(root.get("id"), cursor.getId())));
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.exceptions;
+
+import lombok.Generated;
+
+@Generated
+public class BookingConflictException extends RuntimeException {
+    public BookingConflictException(String message) {
+        super(message);
+    }
+}
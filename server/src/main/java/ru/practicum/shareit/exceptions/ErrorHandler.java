@@ -27,7 +27,8 @@ public class ErrorHandler {
         return new ErrorResponse("Unknown state: UNSUPPORTED_STATUS");
     }
 
-    @ExceptionHandler({ItemAlreadyExistException.class, UserAlreadyExistException.class, PSQLException.class})
+    @ExceptionHandler({ItemAlreadyExistException.class, UserAlreadyExistException.class, PSQLException.class,
+            BookingConflictException.class})
     @ResponseStatus(HttpStatus.CONFLICT)
     public ErrorResponse handleFilmAlreadyExistException(final RuntimeException e) {
         return new ErrorResponse(e.getMessage());
@@ -1,12 +1,16 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.entity.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @Query("SELECT c FROM Comment c WHERE c.item.id = ?1")
     List<Comment> findCommentsByItem_Id(Long itemId);
 
-    List<Comment> findCommentsByUser_Id(Long userId);
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.item.id IN ?1 ORDER BY c.id ASC")
+    List<Comment> findCommentsByItem_IdIn(Collection<Long> itemIds);
 }
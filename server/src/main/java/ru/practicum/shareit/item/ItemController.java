@@ -1,16 +1,22 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentDtoRequest;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 import ru.practicum.shareit.item.entity.Comment;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.pagination.Cursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -25,11 +31,17 @@ public class ItemController {
     private static final String REQUEST_HEADER_SHARER_USER_ID = "X-Sharer-User-Id";
 
     @GetMapping
-    public List<ItemDtoWithBooking>
+    public ResponseEntity<List<ItemDtoWithBooking>>
     getAllItems(@RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId,
                 @RequestParam(name = "from", defaultValue = "0") Integer limit,
-                @RequestParam(defaultValue = "20") Integer size) {
-        return service.getAllItems(userId, limit, size);
+                @RequestParam(defaultValue = "20") Integer size,
+                @RequestParam(required = false) String after) {
+        Slice<ItemDtoWithBooking> items = after == null
+                ? service.getAllItems(userId, limit, size)
+                : service.getAllItems(userId, Cursor.decode(after, false), size);
+        return ResponseEntity.ok()
+                .headers(Cursor.nextCursorHeaders(items, item -> Cursor.of(item.getId())))
+                .body(items.getContent());
     }
 
     @GetMapping("/{itemId}")
@@ -38,6 +50,15 @@ public class ItemController {
         return service.getItemById(itemId, userId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable Long itemId,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime to) {
+        return service.getAvailability(itemId, from, to);
+    }
+
     @PostMapping
     public ItemDto createItem(@RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId,
                               @RequestBody ItemDto itemDto) {
@@ -56,8 +77,15 @@ public class ItemController {
     public List<ItemDto>
     searchItemForText(@RequestParam String text,
                       @RequestParam(name = "from", defaultValue = "0") Integer limit,
-                      @RequestParam(defaultValue = "20") Integer size) {
-        return service.searchItemForText(text, limit, size).stream()
+                      @RequestParam(defaultValue = "20") Integer size,
+                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                      LocalDateTime freeFrom,
+                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                      LocalDateTime freeTo) {
+        List<Item> items = freeFrom == null && freeTo == null
+                ? service.searchItemForText(text, limit, size)
+                : service.searchFreeItemsForText(text, freeFrom, freeTo, limit, size);
+        return items.stream()
                 .map(mapper::toItemDto)
                 .collect(Collectors.toList());
     }
@@ -1,13 +1,18 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.entity.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
@@ -19,12 +24,35 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
 
     @Query(" SELECT i FROM Item i " +
             "WHERE (UPPER(i.name) LIKE UPPER(CONCAT('%', ?1, '%')) " +
-            " OR UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%'))) AND i.available != FALSE")
-    Page<Item> searchItemForText(String text, Pageable pageable);
+            " OR UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%'))) AND i.available != FALSE " +
+            "ORDER BY CASE WHEN UPPER(i.name) LIKE UPPER(CONCAT('%', ?1, '%')) THEN 0 ELSE 1 END, i.id ASC")
+    Slice<Item> searchItemForText(String text, Pageable pageable);
+
+    @Query(" SELECT i FROM Item i " +
+            "WHERE (UPPER(i.name) LIKE UPPER(CONCAT('%', ?1, '%')) " +
+            " OR UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%'))) AND i.available != FALSE " +
+            " AND NOT EXISTS (SELECT b.id FROM Booking b WHERE b.item = i " +
+            "  AND b.status = ru.practicum.shareit.booking.statusEnum.StatusBooking.APPROVED " +
+            "  AND b.startDate < ?3 AND b.endDate > ?2) " +
+            "ORDER BY CASE WHEN UPPER(i.name) LIKE UPPER(CONCAT('%', ?1, '%')) THEN 0 ELSE 1 END, i.id ASC")
+    Slice<Item> searchFreeItemsForText(String text, LocalDateTime freeFrom, LocalDateTime freeTo, Pageable pageable);
+
+    /**
+     * Reads the row in a transaction of its own, so a caller running after a commit sees the committed state
+     * instead of its own persistence context.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @Query("SELECT i FROM Item i WHERE i.id = ?1")
+    Optional<Item> findCommittedById(Long itemId);
 
     List<Item> findAllByOwner_IdOrderByIdAsc(Long ownerId);
 
-    Page<Item> findAllByOwner_IdOrderByIdAsc(Long ownerId, Pageable pageable);
+    Slice<Item> findAllByOwner_IdOrderByIdAsc(Long ownerId, Pageable pageable);
+
+    Slice<Item> findAllByOwner_IdAndIdGreaterThanOrderByIdAsc(Long ownerId, Long id, Pageable pageable);
 
     List<Item> findAllByItemRequest_Id(Long requestId);
+
+    @Query("SELECT i FROM Item i WHERE i.itemRequest.id IN ?1")
+    List<Item> findAllByItemRequest_IdIn(Collection<Long> requestIds);
 }
@@ -1,21 +1,32 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 import ru.practicum.shareit.item.entity.Comment;
 import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.pagination.Cursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
-    List<ItemDtoWithBooking> getAllItems(Long userId, Integer limit, Integer size);
+    Slice<ItemDtoWithBooking> getAllItems(Long userId, Integer limit, Integer size);
+
+    Slice<ItemDtoWithBooking> getAllItems(Long userId, Cursor after, Integer size);
 
     ItemDtoWithBooking getItemById(Long itemId, Long userId);
 
+    ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
     Item createItem(Long userId, Item item);
 
     Item updateItem(Long userId, Item item, Long itemId);
 
     List<Item> searchItemForText(String text, Integer limit, Integer size);
 
+    List<Item> searchFreeItemsForText(String text, LocalDateTime freeFrom, LocalDateTime freeTo,
+                                      Integer limit, Integer size);
+
     Comment createComment(Long userId, Comment comment, Long itemId);
 }
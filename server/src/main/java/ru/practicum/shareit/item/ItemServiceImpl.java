@@ -3,6 +3,8 @@ package ru.practicum.shareit.item;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingRepository;
@@ -12,12 +14,18 @@ import ru.practicum.shareit.booking.statusEnum.StatusBooking;
 import ru.practicum.shareit.exceptions.InvalidDataException;
 import ru.practicum.shareit.exceptions.ItemNotFoundException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.availability.AvailabilityTimelines;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.dto.BusySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 import ru.practicum.shareit.item.entity.Comment;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.entity.User;
@@ -25,7 +33,9 @@ import ru.practicum.shareit.user.entity.User;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -38,6 +48,9 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemDetailsCache itemDetailsCache;
+    private final AvailabilityTimelines availabilityTimelines;
     private final ItemMapper itemMapper;
     private final BookingMapper bookingMapper;
     private final CommentMapper commentMapper;
@@ -45,29 +58,94 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     @Transactional
-    public List<ItemDtoWithBooking> getAllItems(Long userId, Integer limit, Integer size) {
-        List<Item> itemsUserOwner = repository
-                .findAllByOwner_IdOrderByIdAsc(userId, PageRequest.of(limit / size, size))
-                .getContent();
+    public Slice<ItemDtoWithBooking> getAllItems(Long userId, Integer limit, Integer size) {
+        return toItemDtosWithBooking(repository
+                .findAllByOwner_IdOrderByIdAsc(userId, PageRequest.of(limit / size, size)));
+    }
+
+    @Override
+    @Transactional
+    public Slice<ItemDtoWithBooking> getAllItems(Long userId, Cursor after, Integer size) {
+        return toItemDtosWithBooking(repository
+                .findAllByOwner_IdAndIdGreaterThanOrderByIdAsc(userId, after.getId(), PageRequest.of(0, size)));
+    }
+
+    private Slice<ItemDtoWithBooking> toItemDtosWithBooking(Slice<Item> itemsUserOwner) {
+        if (itemsUserOwner.isEmpty()) {
+            return new SliceImpl<>(new ArrayList<>(), itemsUserOwner.getPageable(), itemsUserOwner.hasNext());
+        }
+        LocalDateTime currentTime = LocalDateTime.now();
+        List<Long> itemIds = itemsUserOwner.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        Map<Long, Booking> lastBookings = new HashMap<>();
+        Map<Long, Booking> nextBookings = new HashMap<>();
+        for (Booking booking : bookingRepository.findLastAndNextBookingsByItemIds(itemIds, currentTime)) {
+            if (booking.getStartDate().isAfter(currentTime)) {
+                nextBookings.put(booking.getItem().getId(), booking);
+            } else {
+                lastBookings.put(booking.getItem().getId(), booking);
+            }
+        }
+        Map<Long, List<CommentDto>> commentsByItem = getCommentListByItems(itemIds);
         List<ItemDtoWithBooking> listItemDtoWithBooking = new ArrayList<>();
         for (Item item : itemsUserOwner) {
-            ItemDtoWithBooking itemDtoWithBooking = getItemDtoWithBooking(getCommentListByUser(userId), item);
+            ItemDtoWithBooking itemDtoWithBooking = getItemDtoWithBooking(
+                    commentsByItem.getOrDefault(item.getId(), Collections.emptyList()), item,
+                    lastBookings.get(item.getId()), nextBookings.get(item.getId()));
             listItemDtoWithBooking.add(itemDtoWithBooking);
         }
-        return listItemDtoWithBooking;
+        return new SliceImpl<>(listItemDtoWithBooking, itemsUserOwner.getPageable(), itemsUserOwner.hasNext());
     }
 
     @Override
     @Transactional
     public ItemDtoWithBooking getItemById(Long itemId, Long userId) {
+        long cacheTicket = itemDetailsCache.ticket();
+        Optional<ItemDtoWithBooking> cachedItem = itemDetailsCache.get(itemId, userId);
+        if (cachedItem.isPresent()) {
+            return cachedItem.get();
+        }
         Item item = repository.findById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException("Item not found with id"));
         User userOwner = item.getOwner();
-        if (userId.equals(userOwner.getId())) {
-            return getItemDtoWithBooking(getCommentListByItem(itemId), item);
+        boolean isOwner = userId.equals(userOwner.getId());
+        ItemDtoWithBooking itemDtoWithBooking;
+        LocalDateTime refreshAt = null;
+        if (isOwner) {
+            LocalDateTime currentTime = LocalDateTime.now();
+            itemDtoWithBooking = getItemDtoWithBooking(getCommentListByItem(itemId), item);
+            refreshAt = bookingRepository.findNextStartDateByItemId(itemId, currentTime).orElse(null);
         } else {
-            return itemMapper.toItemDtoBooking(item, getCommentListByItem(itemId));
+            itemDtoWithBooking = itemMapper.toItemDtoBooking(item, getCommentListByItem(itemId));
         }
+        itemDetailsCache.put(itemId, userOwner.getId(), isOwner, itemDtoWithBooking, refreshAt, cacheTicket);
+        return itemDtoWithBooking;
+    }
+
+    @Override
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            log.error("Availability window must end after it starts");
+            throw new InvalidDataException("Availability window must end after it starts");
+        }
+        Item item = repository.findById(itemId)
+                .orElseThrow(() -> new ItemNotFoundException("Item not found with id"));
+        List<BusySlotDto> busy = availabilityTimelines.findBusy(itemId, from, to, horizon -> bookingRepository
+                        .findAllByItem_IdAndStatusAndEndDateAfterOrderByStartDateAsc(itemId,
+                                StatusBooking.APPROVED, horizon))
+                .orElseGet(() -> bookingRepository
+                        .findAllByItem_IdAndStatusAndStartDateBeforeAndEndDateAfterOrderByStartDateAsc(itemId,
+                                StatusBooking.APPROVED, to, from).stream()
+                        .map(booking -> new BusySlotDto(booking.getStartDate(), booking.getEndDate()))
+                        .collect(Collectors.toList()));
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .free(Boolean.TRUE.equals(item.getAvailable()) && busy.isEmpty())
+                .busy(busy)
+                .build();
     }
 
     @Override
@@ -78,7 +156,9 @@ public class ItemServiceImpl implements ItemService {
         if (item.getItemRequest() != null) {
             item.setItemRequest(itemRequestRepository.getReferenceById(item.getItemRequest().getId()));
         }
-        return repository.save(item);
+        Item savedItem = repository.save(item);
+        itemSearchIndex.index(savedItem.getId());
+        return savedItem;
     }
 
     @Override
@@ -90,8 +170,11 @@ public class ItemServiceImpl implements ItemService {
             item.setOwner(userRepository.getReferenceById(userId));
             repository.save(item);
         }
-        return repository.findById(itemId)
+        Item updatedItem = repository.findById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException("Item with id not"));
+        itemSearchIndex.index(itemId);
+        itemDetailsCache.evict(itemId);
+        return updatedItem;
     }
 
     @Override
@@ -99,16 +182,35 @@ public class ItemServiceImpl implements ItemService {
         if (text.isEmpty() || text.isBlank()) {
             return new ArrayList<>();
         }
+        if (itemSearchIndex.isEnabled()) {
+            return itemSearchIndex.search(text, limit, size);
+        }
         return repository.searchItemForText(text, PageRequest.of(limit / size, size)).getContent();
     }
 
+    @Override
+    public List<Item> searchFreeItemsForText(String text, LocalDateTime freeFrom, LocalDateTime freeTo,
+                                             Integer limit, Integer size) {
+        if (freeFrom == null || freeTo == null || !freeFrom.isBefore(freeTo)) {
+            log.error("Search window must have both ends and end after it starts");
+            throw new InvalidDataException("Search window must have both ends and end after it starts");
+        }
+        if (text.isEmpty() || text.isBlank()) {
+            return new ArrayList<>();
+        }
+        return repository.searchFreeItemsForText(text, freeFrom, freeTo, PageRequest.of(limit / size, size))
+                .getContent();
+    }
+
     @Override
     public Comment createComment(Long userId, Comment comment, Long itemId) {
         LocalDateTime createdDate = comment.getCreatedDate();
         if (isCheckItemExistsByRenter(itemId, userId, createdDate)) {
             comment.setUser(userRepository.getReferenceById(userId));
             comment.setItem(repository.getReferenceById(itemId));
-            return commentRepository.save(comment);
+            Comment savedComment = commentRepository.save(comment);
+            itemDetailsCache.evict(itemId);
+            return savedComment;
         } else {
             log.error("Could not find item for this renter");
             throw new InvalidDataException("Could not find item for this renter");
@@ -144,19 +246,24 @@ public class ItemServiceImpl implements ItemService {
 
     private ItemDtoWithBooking getItemDtoWithBooking(List<CommentDto> commentList, Item item) {
         LocalDateTime currentTime = LocalDateTime.now();
-        ItemDtoWithBooking itemDtoWithBooking = itemMapper.toItemDtoBooking(item, commentList);
         Optional<Booking> lastB = bookingRepository
                 .findFirstByItem_IdAndStartDateBeforeOrderByEndDateDesc(item.getId(), currentTime);
         Optional<Booking> nextB = bookingRepository
                 .findFirstByItem_IdAndStartDateAfterOrderByEndDateAsc(item.getId(), currentTime);
-        if (lastB.isEmpty()) {
+        return getItemDtoWithBooking(commentList, item, lastB.orElse(null), nextB.orElse(null));
+    }
+
+    private ItemDtoWithBooking getItemDtoWithBooking(List<CommentDto> commentList, Item item,
+                                                     Booking lastB, Booking nextB) {
+        ItemDtoWithBooking itemDtoWithBooking = itemMapper.toItemDtoBooking(item, commentList);
+        if (lastB == null) {
             itemDtoWithBooking.setLastBooking(null);
             itemDtoWithBooking.setNextBooking(null);
-        } else if (nextB.isEmpty()) {
-            itemDtoWithBooking.setLastBooking(bookingMapper.toBookingOwnerDto(lastB.get()));
+        } else if (nextB == null) {
+            itemDtoWithBooking.setLastBooking(bookingMapper.toBookingOwnerDto(lastB));
         } else {
-            itemDtoWithBooking.setLastBooking(bookingMapper.toBookingOwnerDto(lastB.get()));
-            itemDtoWithBooking.setNextBooking(bookingMapper.toBookingOwnerDto(nextB.get()));
+            itemDtoWithBooking.setLastBooking(bookingMapper.toBookingOwnerDto(lastB));
+            itemDtoWithBooking.setNextBooking(bookingMapper.toBookingOwnerDto(nextB));
         }
         return itemDtoWithBooking;
     }
@@ -176,13 +283,9 @@ public class ItemServiceImpl implements ItemService {
         return commentList;
     }
 
-    private List<CommentDto> getCommentListByUser(Long userId) {
-        List<CommentDto> commentList = commentRepository.findCommentsByUser_Id(userId).stream()
-                .map(commentMapper::toCommentDto)
-                .collect(Collectors.toList());
-        if (commentList.isEmpty()) {
-            commentList = Collections.emptyList();
-        }
-        return commentList;
+    private Map<Long, List<CommentDto>> getCommentListByItems(List<Long> itemIds) {
+        return commentRepository.findCommentsByItem_IdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(commentMapper::toCommentDto, Collectors.toList())));
     }
 }
\ No newline at end of file
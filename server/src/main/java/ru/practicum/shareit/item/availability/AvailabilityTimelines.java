@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item.availability;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.statusEnum.StatusBooking;
+import ru.practicum.shareit.item.dto.BusySlotDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resident availability timelines per item, answering "busy between from and to" in O(log n).
+ * Loading and booking updates for one item run under the cache's per-key lock, so an update
+ * committed while a timeline is loading is applied on top of the loaded state.
+ */
+@Component
+public class AvailabilityTimelines {
+    private final boolean enabled;
+    private final Cache<Long, ItemTimeline> timelines;
+
+    public AvailabilityTimelines(@Value("${shareit.availability.enabled:true}") boolean enabled,
+                                 @Value("${shareit.availability.max-items:10000}") long maxItems,
+                                 @Value("${shareit.availability.idle-minutes:30}") long idleMinutes) {
+        this.enabled = enabled;
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Answers from the item's timeline, loading it first when the item is not resident and the window does not
+     * start in the past. A window the timeline cannot answer loads nothing, so the caller's own query is the only
+     * one on that path.
+     *
+     * @param approvedEndingAfter approved bookings of the item ending after the given horizon
+     * @return busy slots, or empty when disabled or the window starts before the timeline's horizon
+     */
+    public Optional<List<BusySlotDto>> findBusy(Long itemId, LocalDateTime from, LocalDateTime to,
+                                                Function<LocalDateTime, List<Booking>> approvedEndingAfter) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        ItemTimeline timeline = timelines.getIfPresent(itemId);
+        if (timeline == null) {
+            LocalDateTime horizon = LocalDateTime.now();
+            if (from.isBefore(horizon)) {
+                return Optional.empty();
+            }
+            timeline = timelines.get(itemId, id -> load(horizon, approvedEndingAfter));
+        }
+        if (from.isBefore(timeline.getHorizon())) {
+            return Optional.empty();
+        }
+        return Optional.of(timeline.overlapping(from, to).stream()
+                .map(slot -> new BusySlotDto(slot.getStart(), slot.getEnd()))
+                .collect(Collectors.toList()));
+    }
+
+    private static ItemTimeline load(LocalDateTime horizon,
+                                     Function<LocalDateTime, List<Booking>> approvedEndingAfter) {
+        ItemTimeline timeline = new ItemTimeline(horizon);
+        for (Booking booking : approvedEndingAfter.apply(horizon)) {
+            timeline.put(booking.getId(), booking.getStartDate(), booking.getEndDate());
+        }
+        return timeline;
+    }
+
+    public void onBookingChanged(Booking booking) {
+        if (!enabled || booking.getItem() == null) {
+            return;
+        }
+        timelines.asMap().computeIfPresent(booking.getItem().getId(), (itemId, timeline) -> {
+            if (StatusBooking.APPROVED.equals(booking.getStatus())) {
+                timeline.put(booking.getId(), booking.getStartDate(), booking.getEndDate());
+            } else {
+                timeline.remove(booking.getId());
+            }
+            return timeline;
+        });
+    }
+}
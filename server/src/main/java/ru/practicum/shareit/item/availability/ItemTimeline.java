@@ -0,0 +1,81 @@
+package ru.practicum.shareit.item.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Approved bookings of one item ending after the horizon, ordered by start.
+ * Approved bookings are not expected to overlap, but only the Postgres exclusion constraint guarantees it, so a
+ * lookup does not rely on it: it scans back from the window start as far as the longest slot put so far can reach.
+ * Mutations run under the cache's per-key lock.
+ */
+class ItemTimeline {
+    private static final Comparator<Slot> BY_START = Comparator.comparing(Slot::getStart)
+            .thenComparing(Slot::getBookingId);
+
+    @Getter
+    private final LocalDateTime horizon;
+    private final NavigableSet<Slot> slots = new ConcurrentSkipListSet<>(BY_START);
+    private final Map<Long, Slot> slotsByBookingId = new ConcurrentHashMap<>();
+    private volatile Duration longestSlot = Duration.ZERO;
+
+    ItemTimeline(LocalDateTime horizon) {
+        this.horizon = horizon;
+    }
+
+    void put(Long bookingId, LocalDateTime start, LocalDateTime end) {
+        remove(bookingId);
+        if (end.isAfter(horizon)) {
+            Slot slot = new Slot(bookingId, start, end);
+            Duration length = Duration.between(start, end);
+            if (length.compareTo(longestSlot) > 0) {
+                longestSlot = length;
+            }
+            slotsByBookingId.put(bookingId, slot);
+            slots.add(slot);
+        }
+    }
+
+    void remove(Long bookingId) {
+        Slot slot = slotsByBookingId.remove(bookingId);
+        if (slot != null) {
+            slots.remove(slot);
+        }
+    }
+
+    List<Slot> overlapping(LocalDateTime from, LocalDateTime to) {
+        Slot probe = new Slot(Long.MIN_VALUE, from, from);
+        LocalDateTime reachStart = from.minus(longestSlot);
+        List<Slot> result = new ArrayList<>();
+        for (Slot slot : slots.subSet(new Slot(Long.MIN_VALUE, reachStart, reachStart), true, probe, false)) {
+            if (slot.getEnd().isAfter(from)) {
+                result.add(slot);
+            }
+        }
+        for (Slot slot : slots.tailSet(probe)) {
+            if (!slot.getStart().isBefore(to)) {
+                break;
+            }
+            result.add(slot);
+        }
+        return result;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Slot {
+        private final Long bookingId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+    }
+}
@@ -0,0 +1,166 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Assembled item details per (item, viewer is owner).
+ * An owner view expires when the item's earliest future booking starts, since last and next bookings shift at that
+ * moment. The caller reads that start from the bookings: the view's own next booking is left empty while the item
+ * has no last booking, so it cannot tell.
+ * Every invalidation stamps the item with a sequence number, once when the write happens and again after it commits.
+ * Readers take a {@link #ticket()} before reading the database, and {@link #put} drops details whose item
+ * was invalidated after that ticket, so a read that saw pre-commit state cannot re-cache it.
+ */
+@Component
+public class ItemDetailsCache {
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Cache<Key, CachedItem> cache;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Cache<Long, Long> invalidatedAt;
+    /**
+     * Highest sequence of invalidations no longer tracked per item, which then count as invalidated at it.
+     */
+    private final AtomicLong untrackedInvalidatedAt = new AtomicLong();
+
+    public ItemDetailsCache(@Value("${shareit.item-details-cache.enabled:true}") boolean enabled,
+                            @Value("${shareit.item-details-cache.max-size:10000}") long maxSize,
+                            @Value("${shareit.item-details-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new NextBookingExpiry())
+                .recordStats()
+                .build();
+        this.invalidatedAt = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .<Long, Long>evictionListener((itemId, invalidation, cause) ->
+                        untrackedInvalidatedAt.accumulateAndGet(invalidation, Math::max))
+                .build();
+    }
+
+    /**
+     * @return ticket to pass to {@link #put}, taken before the details are read from the database
+     */
+    public long ticket() {
+        return sequence.get();
+    }
+
+    public Optional<ItemDtoWithBooking> get(Long itemId, Long userId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        CachedItem ownerView = cache.getIfPresent(new Key(itemId, true));
+        if (ownerView != null && ownerView.getOwnerId().equals(userId)) {
+            return Optional.of(ownerView.getItem());
+        }
+        CachedItem viewerView = cache.getIfPresent(new Key(itemId, false));
+        if (viewerView != null && !viewerView.getOwnerId().equals(userId)) {
+            return Optional.of(viewerView.getItem());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Caches the details until refreshAt, or for the TTL when it is null, unless the item was invalidated after
+     * the ticket was taken.
+     * The check runs under the entry lock that {@link #evict} also takes, so it cannot interleave with an eviction.
+     */
+    public void put(Long itemId, Long ownerId, boolean ownerView, ItemDtoWithBooking item,
+                    @Nullable LocalDateTime refreshAt, long ticket) {
+        if (!enabled) {
+            return;
+        }
+        cache.asMap().compute(new Key(itemId, ownerView), (key, cached) ->
+                lastInvalidation(itemId) > ticket ? cached : new CachedItem(ownerId, item, refreshAt));
+    }
+
+    public void evict(Long itemId) {
+        if (!enabled) {
+            return;
+        }
+        invalidate(itemId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(itemId);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        untrackedInvalidatedAt.accumulateAndGet(sequence.incrementAndGet(), Math::max);
+        cache.invalidateAll();
+    }
+
+    private void invalidate(Long itemId) {
+        invalidatedAt.put(itemId, sequence.incrementAndGet());
+        cache.invalidate(new Key(itemId, true));
+        cache.invalidate(new Key(itemId, false));
+    }
+
+    private long lastInvalidation(Long itemId) {
+        Long invalidation = invalidatedAt.getIfPresent(itemId);
+        return Math.max(invalidation != null ? invalidation : 0, untrackedInvalidatedAt.get());
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Key {
+        private final Long itemId;
+        private final boolean ownerView;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedItem {
+        private final Long ownerId;
+        private final ItemDtoWithBooking item;
+        private final LocalDateTime refreshAt;
+    }
+
+    private class NextBookingExpiry implements Expiry<Key, CachedItem> {
+        @Override
+        public long expireAfterCreate(Key key, CachedItem value, long currentTime) {
+            if (value.getRefreshAt() == null) {
+                return ttl.toNanos();
+            }
+            Duration untilNextBooking = Duration.between(LocalDateTime.now(), value.getRefreshAt());
+            if (untilNextBooking.isNegative()) {
+                return 0;
+            }
+            return untilNextBooking.compareTo(ttl) < 0 ? untilNextBooking.toNanos() : ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, CachedItem value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, CachedItem value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
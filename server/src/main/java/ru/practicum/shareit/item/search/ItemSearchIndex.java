@@ -0,0 +1,309 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.request.entity.ItemRequest;
+import ru.practicum.shareit.user.entity.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory inverted index over item names and descriptions.
+ * Terms are upper-cased trigrams, so a lookup keeps the substring semantics of the database search:
+ * postings of all query trigrams are intersected and the candidates are checked with {@code contains}.
+ * <p>
+ * The index is built before the application starts serving requests. After that, writes re-read the committed row
+ * once their transaction commits, so callbacks running out of commit order still leave the latest state indexed.
+ * Updates of one item are serialized by a lock stripe; each posting list is replaced atomically on its own, so
+ * searches never wait for writes and may briefly miss an item that is being re-indexed.
+ */
+@Component
+@Slf4j
+public class ItemSearchIndex implements SmartInitializingSingleton {
+    private static final int TERM_LENGTH = 3;
+    private static final int LOCK_STRIPES = 64;
+    private static final long[] EMPTY_POSTINGS = new long[0];
+
+    private final ItemRepository repository;
+    private final boolean enabled;
+    private final ConcurrentMap<String, long[]> postings = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, IndexedItem> items = new ConcurrentHashMap<>();
+    private final Object[] itemLocks = new Object[LOCK_STRIPES];
+
+    public ItemSearchIndex(ItemRepository repository,
+                           @Value("${shareit.search.in-memory.enabled:false}") boolean enabled) {
+        this.repository = repository;
+        this.enabled = enabled;
+        Arrays.setAll(itemLocks, i -> new Object());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Runs once all singletons exist, before the web server is started, so no write can race the initial load.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        build();
+    }
+
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        Map<String, List<Long>> termItems = new HashMap<>();
+        postings.clear();
+        items.clear();
+        for (Item item : repository.findAll(Sort.by(Sort.Direction.ASC, "id"))) {
+            IndexedItem indexedItem = IndexedItem.of(item);
+            items.put(indexedItem.getId(), indexedItem);
+            for (String term : indexedItem.terms()) {
+                termItems.computeIfAbsent(term, key -> new ArrayList<>()).add(indexedItem.getId());
+            }
+        }
+        termItems.forEach((term, ids) -> postings.put(term, ids.stream().mapToLong(Long::longValue).toArray()));
+        log.info("Item search index built: {} items, {} terms", items.size(), termItems.size());
+    }
+
+    /**
+     * Re-indexes the item from its committed row once the surrounding transaction commits, or right away outside
+     * one.
+     */
+    public void index(Long itemId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> refresh(itemId));
+    }
+
+    public void removeAllByOwner(Long ownerId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> removeOwnedBy(ownerId));
+    }
+
+    /**
+     * The read happens under the item's lock stripe: a refresh that read an older row finishes before a later
+     * refresh of the same item can read, so the last one applied always carries the latest committed state.
+     */
+    private void refresh(Long itemId) {
+        synchronized (lockFor(itemId)) {
+            IndexedItem indexedItem = repository.findCommittedById(itemId).map(IndexedItem::of).orElse(null);
+            if (indexedItem == null) {
+                remove(itemId);
+            } else {
+                put(indexedItem);
+            }
+        }
+    }
+
+    private void removeOwnedBy(Long ownerId) {
+        for (IndexedItem indexedItem : items.values()) {
+            if (ownerId.equals(indexedItem.getOwnerId())) {
+                synchronized (lockFor(indexedItem.getId())) {
+                    IndexedItem current = items.get(indexedItem.getId());
+                    if (current != null && ownerId.equals(current.getOwnerId())) {
+                        remove(current.getId());
+                    }
+                }
+            }
+        }
+    }
+
+    private void put(IndexedItem indexedItem) {
+        IndexedItem previous = items.put(indexedItem.getId(), indexedItem);
+        Set<String> terms = indexedItem.terms();
+        for (String term : terms) {
+            postings.compute(term, (key, ids) -> insert(ids != null ? ids : EMPTY_POSTINGS, indexedItem.getId()));
+        }
+        if (previous != null) {
+            Set<String> staleTerms = previous.terms();
+            staleTerms.removeAll(terms);
+            removeFromPostings(indexedItem.getId(), staleTerms);
+        }
+    }
+
+    private void remove(Long itemId) {
+        IndexedItem previous = items.remove(itemId);
+        if (previous != null) {
+            removeFromPostings(itemId, previous.terms());
+        }
+    }
+
+    private Object lockFor(Long itemId) {
+        return itemLocks[Math.floorMod(itemId.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    public List<Item> search(String text, Integer limit, Integer size) {
+        String query = text.toUpperCase(Locale.ROOT);
+        List<Item> nameMatches = new ArrayList<>();
+        List<Item> descriptionMatches = new ArrayList<>();
+        for (long id : findCandidates(query)) {
+            IndexedItem indexedItem = items.get(id);
+            if (indexedItem == null || !Boolean.TRUE.equals(indexedItem.getAvailable())) {
+                continue;
+            }
+            if (indexedItem.getUpperName().contains(query)) {
+                nameMatches.add(indexedItem.toItem());
+            } else if (indexedItem.getUpperDescription().contains(query)) {
+                descriptionMatches.add(indexedItem.toItem());
+            }
+        }
+        nameMatches.addAll(descriptionMatches);
+        int from = Math.min(limit / size * size, nameMatches.size());
+        return new ArrayList<>(nameMatches.subList(from, Math.min(from + size, nameMatches.size())));
+    }
+
+    private long[] findCandidates(String query) {
+        if (query.length() < TERM_LENGTH) {
+            return items.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+        List<long[]> queryPostings = new ArrayList<>();
+        for (String term : terms(query)) {
+            long[] ids = postings.get(term);
+            if (ids == null) {
+                return EMPTY_POSTINGS;
+            }
+            queryPostings.add(ids);
+        }
+        queryPostings.sort((first, second) -> Integer.compare(first.length, second.length));
+        long[] candidates = queryPostings.get(0);
+        for (int i = 1; i < queryPostings.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, queryPostings.get(i));
+        }
+        return candidates;
+    }
+
+    private void removeFromPostings(Long itemId, Set<String> terms) {
+        for (String term : terms) {
+            postings.computeIfPresent(term, (key, ids) -> {
+                long[] remaining = remove(ids, itemId);
+                return remaining.length == 0 ? null : remaining;
+            });
+        }
+    }
+
+    private static Set<String> terms(String upperText) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (int i = 0; i + TERM_LENGTH <= upperText.length(); i++) {
+            terms.add(upperText.substring(i, i + TERM_LENGTH));
+        }
+        return terms;
+    }
+
+    private static long[] insert(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return ids;
+        }
+        position = -position - 1;
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, position);
+        result[position] = id;
+        System.arraycopy(ids, position, result, position + 1, ids.length - position);
+        return result;
+    }
+
+    private static long[] remove(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return ids;
+        }
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, position);
+        System.arraycopy(ids, position + 1, result, position, ids.length - position - 1);
+        return result;
+    }
+
+    private static long[] intersect(long[] first, long[] second) {
+        long[] result = new long[Math.min(first.length, second.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[count++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class IndexedItem {
+        private final Long id;
+        private final String name;
+        private final String description;
+        private final String upperName;
+        private final String upperDescription;
+        private final Boolean available;
+        private final Long ownerId;
+        private final Long requestId;
+
+        static IndexedItem of(Item item) {
+            String name = item.getName() != null ? item.getName() : "";
+            String description = item.getDescription() != null ? item.getDescription() : "";
+            return new IndexedItem(item.getId(), name, description,
+                    name.toUpperCase(Locale.ROOT), description.toUpperCase(Locale.ROOT), item.getAvailable(),
+                    item.getOwner() != null ? item.getOwner().getId() : null,
+                    item.getItemRequest() != null ? item.getItemRequest().getId() : null);
+        }
+
+        Set<String> terms() {
+            Set<String> terms = ItemSearchIndex.terms(upperName);
+            terms.addAll(ItemSearchIndex.terms(upperDescription));
+            return terms;
+        }
+
+        Item toItem() {
+            return Item.builder()
+                    .id(id)
+                    .name(name)
+                    .description(description)
+                    .available(available)
+                    .owner(ownerId != null ? User.builder().id(ownerId).build() : null)
+                    .itemRequest(requestId != null ? ItemRequest.builder().id(requestId).build() : null)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import ru.practicum.shareit.exceptions.InvalidDataException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque keyset position: the sort key of the last row a client has seen.
+ * Timestamped cursors seek on {@code (timestamp, id)}, plain ones on {@code id} alone.
+ */
+@Getter
+@EqualsAndHashCode
+public final class Cursor {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    private Cursor(LocalDateTime timestamp, Long id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    public static Cursor of(LocalDateTime timestamp, Long id) {
+        return new Cursor(timestamp, id);
+    }
+
+    public static Cursor of(Long id) {
+        return new Cursor(null, id);
+    }
+
+    public static Cursor decode(String value, boolean timestamped) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            if (timestamped != (separator >= 0)) {
+                throw new InvalidDataException("Invalid cursor: " + value);
+            }
+            if (!timestamped) {
+                return of(Long.valueOf(decoded));
+            }
+            return of(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.valueOf(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidDataException("Invalid cursor: " + value);
+        }
+    }
+
+    public String encode() {
+        String value = timestamp != null ? timestamp + SEPARATOR + id : String.valueOf(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Points past the last row of the slice, but only when the slice knows a further row exists.
+     */
+    public static <T> HttpHeaders nextCursorHeaders(Slice<T> page, Function<T, Cursor> cursorOf) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.hasNext()) {
+            List<T> content = page.getContent();
+            headers.set(NEXT_CURSOR_HEADER, cursorOf.apply(content.get(content.size() - 1)).encode());
+        }
+        return headers;
+    }
+}
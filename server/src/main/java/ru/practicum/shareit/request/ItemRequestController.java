@@ -1,7 +1,10 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemResponseDto;
 import ru.practicum.shareit.request.entity.ItemRequest;
@@ -39,12 +42,19 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemResponseDto>
+    public ResponseEntity<List<ItemResponseDto>>
     findAllUsersRequests(@RequestHeader(REQUEST_HEADER_SHARER_USER_ID) Long userId,
                          @RequestParam(name = "from", defaultValue = "0") Integer limit,
-                         @RequestParam(defaultValue = "20") Integer size) {
-        return itemRequestService.findAllUsersRequests(userId, limit, size).stream()
-                .map(itemRequestMapper::itemRequestDto)
-                .collect(Collectors.toList());
+                         @RequestParam(defaultValue = "20") Integer size,
+                         @RequestParam(required = false) String after) {
+        Slice<ItemRequest> requests = after == null
+                ? itemRequestService.findAllUsersRequests(userId, limit, size)
+                : itemRequestService.findAllUsersRequests(userId, Cursor.decode(after, true), size);
+        return ResponseEntity.ok()
+                .headers(Cursor.nextCursorHeaders(requests,
+                        request -> Cursor.of(request.getCreated(), request.getId())))
+                .body(requests.stream()
+                        .map(itemRequestMapper::itemRequestDto)
+                        .collect(Collectors.toList()));
     }
 }
@@ -1,11 +1,13 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.entity.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -15,5 +17,11 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
 
     List<ItemRequest> findAllByRequester_IdNotOrderByCreatedDesc(Long ownerId);
 
-    Page<ItemRequest> findAllByRequester_IdNotOrderByCreatedDesc(Long ownerId, Pageable pageable);
+    Slice<ItemRequest> findAllByRequester_IdNotOrderByCreatedDescIdDesc(Long ownerId, Pageable pageable);
+
+    @Query("SELECT r FROM ItemRequest r " +
+            "WHERE r.requester.id <> ?1 " +
+            "AND (r.created < ?2 OR (r.created = ?2 AND r.id < ?3)) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    Slice<ItemRequest> findAllOtherUsersRequestsAfter(Long ownerId, LocalDateTime created, Long id, Pageable pageable);
 }
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.request.entity.ItemRequest;
 
 import java.util.List;
@@ -11,5 +13,7 @@ public interface ItemRequestService {
 
     ItemRequest findRequestItemById(Long userId, Long requestId);
 
-    List<ItemRequest> findAllUsersRequests(Long userId, Integer limit, Integer count);
+    Slice<ItemRequest> findAllUsersRequests(Long userId, Integer limit, Integer count);
+
+    Slice<ItemRequest> findAllUsersRequests(Long userId, Cursor after, Integer count);
 }
@@ -3,16 +3,20 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exceptions.ItemRequestNotFoundException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.request.entity.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -51,22 +55,35 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    public List<ItemRequest> findAllUsersRequests(Long userId, Integer limit, Integer count) {
+    public Slice<ItemRequest> findAllUsersRequests(Long userId, Integer limit, Integer count) {
         validateExistsUser(userId);
-        List<ItemRequest> itemRequestsOtherUsers = itemRequestRepository
-                .findAllByRequester_IdNotOrderByCreatedDesc(userId, PageRequest.of(limit / count, count))
-                .getContent();
-        if (itemRequestsOtherUsers.isEmpty()) {
-            return new ArrayList<>();
+        Slice<ItemRequest> itemRequestsOtherUsers = itemRequestRepository
+                .findAllByRequester_IdNotOrderByCreatedDescIdDesc(userId, PageRequest.of(limit / count, count));
+        if (itemRequestsOtherUsers.hasContent()) {
+            saveItemsInRequest(itemRequestsOtherUsers.getContent());
+        }
+        return itemRequestsOtherUsers;
+    }
+
+    @Override
+    public Slice<ItemRequest> findAllUsersRequests(Long userId, Cursor after, Integer count) {
+        validateExistsUser(userId);
+        Slice<ItemRequest> itemRequestsOtherUsers = itemRequestRepository
+                .findAllOtherUsersRequestsAfter(userId, after.getTimestamp(), after.getId(), PageRequest.of(0, count));
+        if (itemRequestsOtherUsers.hasContent()) {
+            saveItemsInRequest(itemRequestsOtherUsers.getContent());
         }
-        saveItemsInRequest(itemRequestsOtherUsers);
         return itemRequestsOtherUsers;
     }
 
     private void saveItemsInRequest(List<ItemRequest> itemRequestsOwner) {
+        List<Long> requestIds = itemRequestsOwner.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<Item>> itemsByRequest = itemRepository.findAllByItemRequest_IdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getItemRequest().getId()));
         for (ItemRequest request : itemRequestsOwner) {
-            List<Item> itemRequests = itemRepository.findAllByItemRequest_Id(request.getId());
-            request.setItems(itemRequests);
+            request.setItems(itemsByRequest.getOrDefault(request.getId(), new ArrayList<>()));
         }
     }
 
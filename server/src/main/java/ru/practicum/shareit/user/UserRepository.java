@@ -4,6 +4,27 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.user.entity.User;
 
+import java.util.Optional;
+
+/**
+ * The methods below are implemented by {@link UserRepositoryImpl}, which keeps the users cache in step with them.
+ */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+    String USERS_CACHE = "users";
+
+    @Override
+    Optional<User> findById(Long id);
+
+    @Override
+    <S extends User> S save(S user);
+
+    @Override
+    void delete(User user);
+
+    @Override
+    void deleteById(Long id);
+
+    @Override
+    void deleteAll();
 }
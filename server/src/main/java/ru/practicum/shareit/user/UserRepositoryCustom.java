@@ -0,0 +1,18 @@
+package ru.practicum.shareit.user;
+
+import ru.practicum.shareit.user.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    Optional<User> findById(Long id);
+
+    <S extends User> S save(S user);
+
+    void delete(User user);
+
+    void deleteById(Long id);
+
+    void deleteAll();
+}
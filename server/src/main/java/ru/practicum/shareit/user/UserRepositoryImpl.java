@@ -0,0 +1,103 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.entity.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Optional;
+
+/**
+ * Caches users by id as immutable snapshots rather than entities, so a caller changing the user it got back never
+ * changes what the next caller reads. Puts and evictions wait for the surrounding transaction to commit.
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+    private final Cache cache;
+
+    public UserRepositoryImpl(CacheManager cacheManager) {
+        this.cache = new TransactionAwareCacheDecorator(cacheManager.getCache(UserRepository.USERS_CACHE));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findById(Long id) {
+        CachedUser cached = cache.get(id, CachedUser.class);
+        if (cached != null) {
+            return Optional.of(cached.toUser());
+        }
+        User user = entityManager.find(User.class, id);
+        if (user == null) {
+            return Optional.empty();
+        }
+        cache.put(id, new CachedUser(user));
+        return Optional.of(user);
+    }
+
+    @Override
+    @Transactional
+    public <S extends User> S save(S user) {
+        S saved = user;
+        if (user.getId() == null) {
+            entityManager.persist(user);
+        } else {
+            saved = entityManager.merge(user);
+        }
+        cache.put(saved.getId(), new CachedUser(saved));
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public void delete(User user) {
+        if (user.getId() == null) {
+            return;
+        }
+        User managed = entityManager.find(User.class, user.getId());
+        if (managed != null) {
+            entityManager.remove(managed);
+        }
+        cache.evict(user.getId());
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(Long id) {
+        User managed = entityManager.find(User.class, id);
+        if (managed == null) {
+            throw new EmptyResultDataAccessException(
+                    String.format("No %s entity with id %s exists!", User.class, id), 1);
+        }
+        entityManager.remove(managed);
+        cache.evict(id);
+    }
+
+    @Override
+    @Transactional
+    public void deleteAll() {
+        entityManager.createQuery("SELECT u FROM User u", User.class).getResultList()
+                .forEach(entityManager::remove);
+        cache.clear();
+    }
+
+    private static final class CachedUser {
+        private final Long id;
+        private final String name;
+        private final String email;
+
+        private CachedUser(User user) {
+            this.id = user.getId();
+            this.name = user.getName();
+            this.email = user.getEmail();
+        }
+
+        private User toUser() {
+            return new User(id, name, email);
+        }
+    }
+}
@@ -4,6 +4,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.entity.User;
 
 import java.util.List;
@@ -15,6 +17,8 @@ import java.util.List;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository repository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemDetailsCache itemDetailsCache;
 
     @Override
     public List<User> getUsers() {
@@ -41,5 +45,7 @@ public class UserServiceImpl implements UserService {
     public void deleteUserById(Long userId) {
         repository.delete(repository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not deleted - failed")));
+        itemSearchIndex.removeAllByOwner(userId);
+        itemDetailsCache.evictAll();
     }
 }
@@ -48,4 +48,14 @@ CREATE TABLE IF NOT EXISTS comments (
 	author_id BIGINT REFERENCES USERS(id),
 	created_date TIMESTAMP WITH TIME ZONE NOT NULL,
 	CONSTRAINT pk_comments PRIMARY KEY (id)
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start_end ON bookings (item_id, start_date, end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date DESC);
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
+CREATE INDEX IF NOT EXISTS idx_requests_requester_created ON requests (requester_id, created_date DESC);
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (created_date DESC, id DESC);
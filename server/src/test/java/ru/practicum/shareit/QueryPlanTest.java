@@ -0,0 +1,198 @@
+package ru.practicum.shareit;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.statusEnum.StatusBooking;
+import ru.practicum.shareit.booking.statusEnum.StatusState;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.entity.Comment;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.entity.ItemRequest;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.entity.User;
+
+import javax.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.data.jpa.domain.Specification.where;
+import static ru.practicum.shareit.booking.specification.BookingSpecifications.byBooker;
+import static ru.practicum.shareit.booking.specification.BookingSpecifications.byItemOwner;
+import static ru.practicum.shareit.booking.specification.BookingSpecifications.byState;
+
+/**
+ * Runs the hot repository reads, records the SQL Hibernate generates for them and checks
+ * that H2 plans none of those statements with a table scan.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.SqlStatementRecorder")
+class QueryPlanTest {
+    private static final Pattern TABLE_SCAN = Pattern.compile("PUBLIC\\.\\w+\\.tableScan");
+    private static final LocalDateTime CURRENT_TIME = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    private static final PageRequest PAGE_REQUEST = PageRequest.of(0, 20,
+            Sort.by(Sort.Direction.DESC, "startDate", "id"));
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private User owner;
+    private User booker;
+    private final List<Long> itemIds = new ArrayList<>();
+    private final List<Long> requestIds = new ArrayList<>();
+
+    @BeforeEach
+    void seedData() {
+        for (int i = 0; i < 10; i++) {
+            owner = userRepository.save(User.builder()
+                    .name("owner" + i)
+                    .email("owner" + i + "@gmail.com")
+                    .build());
+            booker = userRepository.save(User.builder()
+                    .name("booker" + i)
+                    .email("booker" + i + "@gmail.com")
+                    .build());
+            ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                    .description("request" + i)
+                    .requester(booker)
+                    .build());
+            requestIds.add(request.getId());
+            for (int j = 0; j < 5; j++) {
+                Item item = itemRepository.save(Item.builder()
+                        .name("item" + i + j)
+                        .description("description" + i + j)
+                        .available(true)
+                        .owner(owner)
+                        .itemRequest(j == 0 ? request : null)
+                        .build());
+                itemIds.add(item.getId());
+                for (int k = -2; k < 3; k++) {
+                    bookingRepository.save(Booking.builder()
+                            .item(item)
+                            .booker(booker)
+                            .startDate(CURRENT_TIME.plusDays(k * 2L))
+                            .endDate(CURRENT_TIME.plusDays(k * 2L + 1))
+                            .status(k % 2 == 0 ? StatusBooking.APPROVED : StatusBooking.WAITING)
+                            .build());
+                }
+                commentRepository.save(Comment.builder()
+                        .text("comment" + i + j)
+                        .item(item)
+                        .user(booker)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void bookingLists_whenPlanned_thenNoTableScan() {
+        assertNoTableScan(() -> bookingRepository.findSlice(byBooker(booker.getId()), PAGE_REQUEST));
+        assertNoTableScan(() -> bookingRepository.findSlice(
+                where(byBooker(booker.getId())).and(byState(StatusState.WAITING, CURRENT_TIME)), PAGE_REQUEST));
+        assertNoTableScan(() -> bookingRepository.findSlice(byItemOwner(owner.getId()), PAGE_REQUEST));
+    }
+
+    @Test
+    void itemBookings_whenPlanned_thenNoTableScan() {
+        Long itemId = itemIds.get(0);
+        assertNoTableScan(() -> bookingRepository
+                .findFirstByItem_IdAndStartDateBeforeOrderByEndDateDesc(itemId, CURRENT_TIME));
+        assertNoTableScan(() -> bookingRepository
+                .findFirstByItem_IdAndStartDateAfterOrderByEndDateAsc(itemId, CURRENT_TIME));
+        assertNoTableScan(() -> bookingRepository
+                .findLastAndNextBookingsByItemIds(itemIds.subList(0, 3), CURRENT_TIME));
+    }
+
+    @Test
+    void itemsCommentsAndRequests_whenPlanned_thenNoTableScan() {
+        assertNoTableScan(() -> itemRepository
+                .findAllByOwner_IdOrderByIdAsc(owner.getId(), PageRequest.of(0, 20)));
+        assertNoTableScan(() -> itemRepository.findAllByItemRequest_IdIn(requestIds.subList(0, 2)));
+        assertNoTableScan(() -> commentRepository.findCommentsByItem_Id(itemIds.get(0)));
+        assertNoTableScan(() -> commentRepository.findCommentsByItem_IdIn(itemIds.subList(0, 2)));
+        assertNoTableScan(() -> itemRequestRepository.findAllByRequester_IdOrderByCreatedDesc(booker.getId()));
+        assertNoTableScan(() -> itemRequestRepository
+                .findAllByRequester_IdNotOrderByCreatedDescIdDesc(booker.getId(), PageRequest.of(0, 20)));
+        assertNoTableScan(() -> itemRequestRepository.findAllOtherUsersRequestsAfter(booker.getId(),
+                CURRENT_TIME.plusDays(1), requestIds.get(5), PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void availability_whenPlanned_thenNoTableScan() {
+        Long itemId = itemIds.get(0);
+        assertNoTableScan(() -> bookingRepository.existsByItem_IdAndStatusAndStartDateBeforeAndEndDateAfter(itemId,
+                StatusBooking.APPROVED, CURRENT_TIME.plusDays(3), CURRENT_TIME));
+        assertNoTableScan(() -> bookingRepository
+                .findAllByItem_IdAndStatusAndStartDateBeforeAndEndDateAfterOrderByStartDateAsc(itemId,
+                        StatusBooking.APPROVED, CURRENT_TIME.plusDays(3), CURRENT_TIME));
+        assertNoTableScan(() -> bookingRepository
+                .findAllByItem_IdAndStatusAndEndDateAfterOrderByStartDateAsc(itemId, StatusBooking.APPROVED,
+                        CURRENT_TIME));
+        assertNoTableScan(() -> bookingRepository.findNextStartDateByItemId(itemId, CURRENT_TIME));
+    }
+
+    /**
+     * A substring match cannot use a B-tree index, so H2 scans items here; Postgres serves it from the trigram
+     * indexes of schema-postgres.sql. The bookings of every matching item must still be probed by index.
+     */
+    @Test
+    void freeItemSearch_whenPlanned_thenBookingsNotScanned() {
+        assertNoTableScan(Pattern.compile("PUBLIC\\.BOOKINGS\\.tableScan"), () -> itemRepository
+                .searchFreeItemsForText("item", CURRENT_TIME, CURRENT_TIME.plusDays(3), PageRequest.of(0, 20)));
+    }
+
+    private void assertNoTableScan(Runnable read) {
+        assertNoTableScan(TABLE_SCAN, read);
+    }
+
+    private void assertNoTableScan(Pattern tableScan, Runnable read) {
+        SqlStatementRecorder.reset();
+        read.run();
+        List<String> statements = SqlStatementRecorder.statements();
+        assertFalse(statements.isEmpty(), "No SQL recorded");
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertFalse(tableScan.matcher(plan).find(), () -> "Table scan in plan of " + sql + ":\n" + plan);
+        }
+    }
+
+    /**
+     * Parameters are left unbound: H2 picks indexes when the statement is prepared, whatever the values.
+     */
+    private String explain(String sql) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet plan = statement.executeQuery()) {
+                assertTrue(plan.next());
+                return plan.getString(1);
+            }
+        });
+    }
+}
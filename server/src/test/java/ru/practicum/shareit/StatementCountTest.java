@@ -0,0 +1,132 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.statusEnum.StatusBooking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.entity.ItemRequest;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements each list endpoint issues: no count queries, and the same number
+ * of statements whatever the page size.
+ */
+@SpringBootTest(
+        properties = {"spring.datasource.driverClassName=org.h2.Driver",
+                "spring.datasource.url=jdbc:h2:mem:statements", "spring.datasource.username=test",
+                "spring.datasource.password=test",
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + "ru.practicum.shareit.SqlStatementRecorder"})
+@AutoConfigureMockMvc
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StatementCountTest {
+    private static final String REQUEST_HEADER_SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final Pattern COUNT_QUERY = Pattern.compile("(?i)select\\s+count\\(");
+    private static final LocalDateTime CURRENT_TIME = LocalDateTime.now();
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User owner;
+    private User booker;
+
+    @BeforeAll
+    void seedData() {
+        owner = userRepository.save(User.builder()
+                .name("owner")
+                .email("owner@gmail.com")
+                .build());
+        booker = userRepository.save(User.builder()
+                .name("booker")
+                .email("booker@gmail.com")
+                .build());
+        for (int i = 0; i < 12; i++) {
+            ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                    .description("request " + i)
+                    .requester(booker)
+                    .build());
+            Item item = itemRepository.save(Item.builder()
+                    .name("Drill " + i)
+                    .description("description " + i)
+                    .available(true)
+                    .owner(owner)
+                    .itemRequest(request)
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .startDate(CURRENT_TIME.plusDays(i * 2L))
+                    .endDate(CURRENT_TIME.plusDays(i * 2L + 1))
+                    .status(StatusBooking.APPROVED)
+                    .build());
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "/bookings?state=ALL, booker",
+            "/bookings/owner?state=ALL, owner",
+            "/items?from=0, owner",
+            "/items/search?text=drill, booker",
+            "/requests/all?from=0, owner"
+    })
+    void listEndpoint_whenPageSizeGrows_thenNoCountQueryAndSameStatementCount(String path, String user)
+            throws Exception {
+        List<String> smallPageStatements = statementsFor(path + "&size=2", user);
+        List<String> largePageStatements = statementsFor(path + "&size=10", user);
+
+        assertTrue(largePageStatements.stream().noneMatch(sql -> COUNT_QUERY.matcher(sql).find()),
+                String.join("\n", largePageStatements));
+        assertEquals(smallPageStatements.size(), largePageStatements.size(),
+                String.join("\n", largePageStatements));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "/bookings?state=ALL, booker",
+            "/bookings/owner?state=ALL, owner"
+    })
+    void bookingList_whenRendered_thenUserCheckAndOneBookingQuery(String path, String user) throws Exception {
+        List<String> statements = statementsFor(path + "&size=10", user);
+
+        assertEquals(2, statements.size(), String.join("\n", statements));
+    }
+
+    private List<String> statementsFor(String url, String user) throws Exception {
+        Long userId = "owner".equals(user) ? owner.getId() : booker.getId();
+        SqlStatementRecorder.reset();
+        mockMvc.perform(get(url).header(REQUEST_HEADER_SHARER_USER_ID, userId))
+                .andExpect(status().isOk());
+        return SqlStatementRecorder.statements();
+    }
+}
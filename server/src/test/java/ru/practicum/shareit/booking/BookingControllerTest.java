@@ -8,6 +8,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
 import org.springframework.test.web.servlet.MockMvc;
@@ -18,6 +20,7 @@ import ru.practicum.shareit.booking.entity.Booking;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.statusEnum.StatusBooking;
 import ru.practicum.shareit.booking.statusEnum.StatusState;
+import ru.practicum.shareit.pagination.Cursor;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -28,6 +31,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest
@@ -114,7 +118,7 @@ class BookingControllerTest {
         List<BookingDtoResponse> expectedBookings = List.of(bookingDtoResponse);
 
         when(service.getAllBookingsByAuthor(state, userId, 0, 20))
-                .thenReturn(bookings);
+                .thenReturn(new SliceImpl<>(bookings));
         when(mapper.toBookingDtoResponse(bookings.get(0))).thenReturn(bookingDtoResponse);
 
         String result = mockMvcPerformValidData(performGetWithParams("/bookings", state));
@@ -131,7 +135,7 @@ class BookingControllerTest {
         List<BookingDtoResponse> expectedBookings = List.of(bookingDtoResponse);
 
         when(service.getAllBookingByOwner(state, userId, 0, 20))
-                .thenReturn(bookings);
+                .thenReturn(new SliceImpl<>(bookings));
         when(mapper.toBookingDtoResponse(bookings.get(0))).thenReturn(bookingDtoResponse);
 
         String result = mockMvcPerformValidData(performGetWithParams("/bookings/owner", state));
@@ -140,6 +144,30 @@ class BookingControllerTest {
         verify(service).getAllBookingByOwner(state, userId, 0, 20);
     }
 
+    @SneakyThrows
+    @Test
+    void shouldReturnNextCursorWhenGetAllBookingByOwnerAfterCursor() {
+        StatusState state = StatusState.ALL;
+        LocalDateTime startDate = LocalDateTime.of(2030, 1, 1, 10, 0);
+        booking.setStartDate(startDate);
+        Cursor after = Cursor.of(startDate.plusDays(1), 5L);
+
+        when(service.getAllBookingByOwner(state, userId, after, 1))
+                .thenReturn(new SliceImpl<>(List.of(booking), PageRequest.of(0, 1), true));
+        when(mapper.toBookingDtoResponse(booking)).thenReturn(bookingDtoResponse);
+
+        mockMvc.perform(get("/bookings/owner")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(REQUEST_HEADER_SHARER_USER_ID, userId)
+                        .param("state", state.toString())
+                        .param("size", "1")
+                        .param("after", after.encode()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Cursor.NEXT_CURSOR_HEADER, Cursor.of(startDate, 1L).encode()));
+
+        verify(service).getAllBookingByOwner(state, userId, after, 1);
+    }
+
     private String mockMvcPerformValidData(ResultActions perform) throws Exception {
         return perform
                 .andDo(print())
@@ -3,46 +3,68 @@ package ru.practicum.shareit.booking;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.entity.Booking;
 import ru.practicum.shareit.booking.statusEnum.StatusBooking;
+import ru.practicum.shareit.booking.statusEnum.StatusState;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.entity.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.data.jpa.domain.Specification.where;
+import static ru.practicum.shareit.booking.specification.BookingSpecifications.byBooker;
+import static ru.practicum.shareit.booking.specification.BookingSpecifications.byItemOwner;
+import static ru.practicum.shareit.booking.specification.BookingSpecifications.byState;
+import static ru.practicum.shareit.booking.specification.BookingSpecifications.seekAfter;
 
 @DataJpaTest
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class BookingRepositoryTest {
-    private static final LocalDateTime CURRENT_TIME = LocalDateTime.now();
+    private static final LocalDateTime CURRENT_TIME = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    private static final PageRequest PAGE_REQUEST = PageRequest.of(0, 20,
+            Sort.by(Sort.Direction.DESC, "startDate", "id"));
     @Autowired
     private BookingRepository bookingRepository;
     @Autowired
     private UserRepository userRepository;
     @Autowired
     private ItemRepository itemRepository;
+    private User user;
+    private User userOwner;
+    private Item item;
 
     @BeforeEach
     private void addBookings_setUp() {
-        User user = User.builder()
+        user = User.builder()
                 .name("name")
                 .email("email@gmail.com")
                 .build();
-        User userOwner = User.builder()
+        userOwner = User.builder()
                 .name("owner")
                 .email("owner@gmail.com")
                 .build();
         userRepository.save(userOwner);
         userRepository.save(user);
-        Item item = Item.builder()
+        item = Item.builder()
                 .name("name")
                 .description("description")
                 .available(true)
@@ -91,6 +113,226 @@ class BookingRepositoryTest {
         assertTrue(actualBooking.isPresent());
     }
 
+    @Test
+    void findNextStartDateByItemId_whenFutureBookingExists_thenReturnedItsStart() {
+        assertEquals(Optional.of(CURRENT_TIME.plusDays(1)),
+                bookingRepository.findNextStartDateByItemId(1L, CURRENT_TIME));
+        assertTrue(bookingRepository.findNextStartDateByItemId(1L, CURRENT_TIME.plusDays(2)).isEmpty());
+    }
+
+    @Test
+    void findLastAndNextBookingsByItemIds() {
+        List<Booking> actualData = bookingRepository
+                .findLastAndNextBookingsByItemIds(List.of(1L), CURRENT_TIME);
+
+        assertEquals(2, actualData.size());
+        assertTrue(actualData.stream().anyMatch(booking -> booking.getStartDate().isBefore(CURRENT_TIME)));
+        assertTrue(actualData.stream().anyMatch(booking -> booking.getStartDate().isAfter(CURRENT_TIME)));
+    }
+
+    @Test
+    void findLastAndNextBookingsByItemIds_whenBookingStartsExactlyNow_thenReturnedOnceAsLast() {
+        Item otherItem = itemRepository.save(Item.builder()
+                .name("other")
+                .description("description")
+                .available(true)
+                .owner(userOwner)
+                .build());
+        Long startingNow = addBooking(user, otherItem, CURRENT_TIME, CURRENT_TIME.plusHours(3),
+                StatusBooking.APPROVED);
+
+        List<Booking> actualData = bookingRepository
+                .findLastAndNextBookingsByItemIds(List.of(otherItem.getId()), CURRENT_TIME);
+
+        assertEquals(1, actualData.size());
+        assertEquals(startingNow, actualData.get(0).getId());
+        assertFalse(actualData.get(0).getStartDate().isAfter(CURRENT_TIME));
+    }
+
+    @Test
+    void findAll_whenBookerAndStateWaiting_thenFilteredAndPagedInQuery() {
+        Slice<Booking> actualData = bookingRepository
+                .findSlice(where(byBooker(2L)).and(byState(StatusState.WAITING, CURRENT_TIME)), PAGE_REQUEST);
+
+        assertEquals(2, actualData.getContent().size());
+        assertTrue(actualData.getContent().get(0).getStartDate()
+                .isAfter(actualData.getContent().get(1).getStartDate()));
+    }
+
+    @Test
+    void findAll_whenBookerAndStateFuture_thenReturnedOnlyFutureBookings() {
+        Slice<Booking> actualData = bookingRepository
+                .findSlice(where(byBooker(2L)).and(byState(StatusState.FUTURE, CURRENT_TIME)), PAGE_REQUEST);
+
+        assertEquals(1, actualData.getContent().size());
+        assertTrue(actualData.getContent().get(0).getStartDate().isAfter(CURRENT_TIME));
+    }
+
+    @Test
+    void findAll_whenOwnerAndStatePast_thenReturnedEmptyPage() {
+        Slice<Booking> actualData = bookingRepository
+                .findSlice(where(byItemOwner(1L)).and(byState(StatusState.PAST, CURRENT_TIME)), PAGE_REQUEST);
+
+        assertTrue(actualData.getContent().isEmpty());
+        assertTrue(bookingRepository.existsByItem_Owner_Id(1L));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "ALL, futureRejected;futureWaiting;currentApproved;currentWaiting;currentRejected;pastApproved;pastRejected",
+            "CURRENT, currentApproved;currentRejected",
+            "PAST, pastApproved",
+            "FUTURE, futureRejected;futureWaiting",
+            "WAITING, futureWaiting;currentWaiting",
+            "REJECTED, futureRejected;currentRejected;pastRejected"
+    })
+    void findSlice_whenBookerAndState_thenReturnedBookingsOfStateOnly(StatusState state, String expected) {
+        Map<String, Long> ids = addBookingInEveryState();
+
+        Slice<Booking> actualData = bookingRepository
+                .findSlice(where(byBooker(user.getId())).and(byState(state, CURRENT_TIME)), PAGE_REQUEST);
+
+        assertEquals(expectedIds(ids, expected), ids(actualData));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "ALL, futureRejected;futureWaiting;currentApproved;currentWaiting;currentRejected;pastApproved;pastRejected",
+            "CURRENT, currentApproved;currentRejected",
+            "PAST, pastApproved",
+            "FUTURE, futureRejected;futureWaiting",
+            "WAITING, futureWaiting;currentWaiting",
+            "REJECTED, futureRejected;currentRejected;pastRejected"
+    })
+    void findSlice_whenOwnerAndState_thenReturnedBookingsOfStateOnly(StatusState state, String expected) {
+        Map<String, Long> ids = addBookingInEveryState();
+
+        Slice<Booking> actualData = bookingRepository
+                .findSlice(where(byItemOwner(userOwner.getId())).and(byState(state, CURRENT_TIME)), PAGE_REQUEST);
+
+        assertEquals(expectedIds(ids, expected), ids(actualData));
+    }
+
+    @Test
+    void findSlice_whenMoreRowsThanPageSize_thenHasNext() {
+        Slice<Booking> actualData = bookingRepository
+                .findSlice(byBooker(2L), PageRequest.of(0, 1, PAGE_REQUEST.getSort()));
+
+        assertEquals(1, actualData.getContent().size());
+        assertTrue(actualData.hasNext());
+    }
+
+    @Test
+    void findAll_whenSeekAfterCursor_thenReturnedNextPage() {
+        PageRequest firstPage = PageRequest.of(0, 1, PAGE_REQUEST.getSort());
+        Booking lastSeen = bookingRepository.findSlice(byBooker(2L), firstPage).getContent().get(0);
+
+        List<Booking> actualData = bookingRepository
+                .findSlice(where(byBooker(2L)).and(seekAfter(Cursor.of(lastSeen.getStartDate(), lastSeen.getId()))),
+                        firstPage)
+                .getContent();
+
+        assertEquals(1, actualData.size());
+        assertTrue(actualData.get(0).getStartDate().isBefore(lastSeen.getStartDate()));
+    }
+
+    @Test
+    void existsApprovedOverlap_whenRangesIntersect_thenTrue() {
+        Booking approved = bookingRepository.findBookingsByBooker_IdOrderByIdAsc(2L).get(1);
+        approved.setStatus(StatusBooking.APPROVED);
+        bookingRepository.save(approved);
+
+        assertTrue(bookingRepository.existsByItem_IdAndStatusAndStartDateBeforeAndEndDateAfter(1L,
+                StatusBooking.APPROVED, CURRENT_TIME.plusDays(3), CURRENT_TIME.plusDays(1).plusHours(1)));
+        assertFalse(bookingRepository.existsByItem_IdAndStatusAndStartDateBeforeAndEndDateAfter(1L,
+                StatusBooking.APPROVED, CURRENT_TIME.plusDays(3), CURRENT_TIME.plusDays(2)));
+    }
+
+    @Test
+    void approveByOwner_whenOwnerAndNoOverlap_thenUpdatedOnce() {
+        assertEquals(0, bookingRepository.approveByOwner(2L, 2L));
+        assertEquals(1, bookingRepository.approveByOwner(2L, 1L));
+        assertEquals(0, bookingRepository.approveByOwner(2L, 1L));
+        assertEquals(0, bookingRepository.approveByOwner(1L, 1L));
+        assertEquals(StatusBooking.APPROVED, bookingRepository.findById(2L).orElseThrow().getStatus());
+        assertEquals(StatusBooking.WAITING, bookingRepository.findById(1L).orElseThrow().getStatus());
+    }
+
+    @Test
+    void updateStatusByOwner_whenRejected_thenStatusChanged() {
+        assertEquals(1, bookingRepository.updateStatusByOwner(1L, 1L, StatusBooking.REJECTED.name()));
+        assertEquals(0, bookingRepository.updateStatusByOwner(1L, 1L, StatusBooking.REJECTED.name()));
+        assertEquals(StatusBooking.REJECTED, bookingRepository.findById(1L).orElseThrow().getStatus());
+    }
+
+    @Test
+    void findApprovedInRange_whenOnlyOneApproved_thenReturnedApprovedOnly() {
+        bookingRepository.approveByOwner(2L, 1L);
+
+        List<Booking> inRange = bookingRepository
+                .findAllByItem_IdAndStatusAndStartDateBeforeAndEndDateAfterOrderByStartDateAsc(1L,
+                        StatusBooking.APPROVED, CURRENT_TIME.plusDays(3), CURRENT_TIME);
+        List<Booking> endingLater = bookingRepository
+                .findAllByItem_IdAndStatusAndEndDateAfterOrderByStartDateAsc(1L, StatusBooking.APPROVED, CURRENT_TIME);
+
+        assertEquals(1, inRange.size());
+        assertEquals(2L, inRange.get(0).getId());
+        assertEquals(inRange.size(), endingLater.size());
+    }
+
+    /**
+     * Adds to the two waiting bookings of the set up one booking per remaining state, plus a current approved
+     * booking of the owner on the booker's item, which neither the booker nor the owner filter may return.
+     */
+    private Map<String, Long> addBookingInEveryState() {
+        List<Booking> waiting = bookingRepository.findBookingsByBooker_IdOrderByIdAsc(user.getId());
+        Map<String, Long> ids = new HashMap<>();
+        ids.put("currentWaiting", waiting.get(0).getId());
+        ids.put("futureWaiting", waiting.get(1).getId());
+        ids.put("pastApproved", addBooking(user, item, CURRENT_TIME.minusDays(3), CURRENT_TIME.minusDays(2),
+                StatusBooking.APPROVED));
+        ids.put("pastRejected", addBooking(user, item, CURRENT_TIME.minusDays(5), CURRENT_TIME.minusDays(4),
+                StatusBooking.REJECTED));
+        ids.put("currentApproved", addBooking(user, item, CURRENT_TIME.minusHours(12), CURRENT_TIME.plusDays(1),
+                StatusBooking.APPROVED));
+        ids.put("currentRejected", addBooking(user, item, CURRENT_TIME.minusDays(2), CURRENT_TIME.plusDays(3),
+                StatusBooking.REJECTED));
+        ids.put("futureRejected", addBooking(user, item, CURRENT_TIME.plusDays(3), CURRENT_TIME.plusDays(4),
+                StatusBooking.REJECTED));
+        Item bookerItem = itemRepository.save(Item.builder()
+                .name("booker item")
+                .description("description")
+                .available(true)
+                .owner(user)
+                .build());
+        addBooking(userOwner, bookerItem, CURRENT_TIME.minusHours(1), CURRENT_TIME.plusHours(1),
+                StatusBooking.APPROVED);
+        return ids;
+    }
+
+    private Long addBooking(User booker, Item bookedItem, LocalDateTime start, LocalDateTime end,
+                            StatusBooking status) {
+        return bookingRepository.save(Booking.builder()
+                .booker(booker)
+                .item(bookedItem)
+                .startDate(start)
+                .endDate(end)
+                .status(status)
+                .build()).getId();
+    }
+
+    private List<Long> expectedIds(Map<String, Long> ids, String names) {
+        return Arrays.stream(names.split(";"))
+                .map(ids::get)
+                .collect(Collectors.toList());
+    }
+
+    private List<Long> ids(Slice<Booking> bookings) {
+        return bookings.stream()
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+    }
+
     @AfterEach
     private void deleteBooking_teardown() {
         bookingRepository.deleteAll();
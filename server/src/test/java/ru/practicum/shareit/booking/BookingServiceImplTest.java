@@ -3,22 +3,26 @@ package ru.practicum.shareit.booking;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import ru.practicum.shareit.booking.entity.Booking;
 import ru.practicum.shareit.booking.statusEnum.StatusBooking;
 import ru.practicum.shareit.booking.statusEnum.StatusState;
+import ru.practicum.shareit.exceptions.BookingConflictException;
 import ru.practicum.shareit.exceptions.BookingNotFoundException;
 import ru.practicum.shareit.exceptions.InvalidDataException;
 import ru.practicum.shareit.exceptions.ItemNotFoundException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.availability.AvailabilityTimelines;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.entity.User;
@@ -29,10 +33,14 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class BookingServiceImplTest {
+    private static final PageRequest PAGE_REQUEST = PageRequest.of(0, 20,
+            Sort.by(Sort.Direction.DESC, "startDate", "id"));
     private final LocalDateTime currentDateTime = LocalDateTime.now();
     @Mock
     private BookingRepository repository;
@@ -40,13 +48,14 @@ class BookingServiceImplTest {
     private UserRepository userRepository;
     @Mock
     private ItemRepository itemRepository;
+    @Mock
+    private ItemDetailsCache itemDetailsCache;
+    @Mock
+    private AvailabilityTimelines availabilityTimelines;
 
     @InjectMocks
     private BookingServiceImpl bookingService;
 
-    @Captor
-    private ArgumentCaptor<Booking> bookingArgumentCaptor;
-
     private Item item;
     private User userOwner;
     private User userBooker;
@@ -138,6 +147,25 @@ class BookingServiceImplTest {
         verify(repository, never()).save(bookingToSave);
     }
 
+    @Test
+    void createBookingRequest_whenApprovedBookingOverlaps_thenThrown() {
+        Booking bookingToSave = Booking.builder()
+                .id(1L)
+                .item(item)
+                .startDate(currentDateTime.plusDays(1))
+                .endDate(currentDateTime.plusDays(2))
+                .build();
+        when(itemRepository.findById(bookingToSave.getItem().getId())).thenReturn(Optional.of(item));
+        when(repository.existsByItem_IdAndStatusAndStartDateBeforeAndEndDateAfter(item.getId(),
+                StatusBooking.APPROVED, bookingToSave.getEndDate(), bookingToSave.getStartDate())).thenReturn(true);
+
+        Throwable exception = assertThrows(BookingConflictException.class,
+                () -> bookingService.createBookingRequest(bookingToSave, userId));
+
+        assertEquals("Item is already booked for these dates", exception.getMessage());
+        verify(repository, never()).save(bookingToSave);
+    }
+
     @Test
     void updateBookingStatusByOwner_whenApprovedStatusTrue_thenUpdateBooking() {
         userId = 10L;
@@ -145,18 +173,18 @@ class BookingServiceImplTest {
         Booking booking = Booking.builder()
                 .id(1L)
                 .item(item)
-                .status(StatusBooking.WAITING)
+                .status(StatusBooking.APPROVED)
                 .build();
+        when(repository.approveByOwner(booking.getId(), userId)).thenReturn(1);
         when(repository.findById(booking.getId())).thenReturn(Optional.of(booking));
 
         Booking actualBooking = bookingService.updateBookingStatusByOwner(booking.getId(), userId, approvedStatus);
 
-        verify(repository).save(bookingArgumentCaptor.capture());
-        Booking savedBooking = bookingArgumentCaptor.getValue();
-
-        assertEquals(StatusBooking.APPROVED, savedBooking.getStatus());
-        assertEquals(1L, savedBooking.getId());
-        verify(repository, times(1)).save(bookingArgumentCaptor.capture());
+        assertEquals(StatusBooking.APPROVED, actualBooking.getStatus());
+        assertEquals(1L, actualBooking.getId());
+        verify(repository, never()).save(any());
+        verify(itemDetailsCache).evict(item.getId());
+        verify(availabilityTimelines).onBookingChanged(actualBooking);
     }
 
     @Test
@@ -166,18 +194,17 @@ class BookingServiceImplTest {
         Booking booking = Booking.builder()
                 .id(1L)
                 .item(item)
-                .status(StatusBooking.WAITING)
+                .status(StatusBooking.REJECTED)
                 .build();
+        when(repository.updateStatusByOwner(booking.getId(), userId, StatusBooking.REJECTED.name())).thenReturn(1);
         when(repository.findById(booking.getId())).thenReturn(Optional.of(booking));
 
         Booking actualBooking = bookingService.updateBookingStatusByOwner(booking.getId(), userId, approvedStatus);
 
-        verify(repository).save(bookingArgumentCaptor.capture());
-        Booking savedBooking = bookingArgumentCaptor.getValue();
-
-        assertEquals(StatusBooking.REJECTED, savedBooking.getStatus());
-        assertEquals(1L, savedBooking.getId());
-        verify(repository, times(1)).save(bookingArgumentCaptor.capture());
+        assertEquals(StatusBooking.REJECTED, actualBooking.getStatus());
+        assertEquals(1L, actualBooking.getId());
+        verify(repository, never()).approveByOwner(any(), any());
+        verify(repository, never()).save(any());
     }
 
     @Test
@@ -189,13 +216,14 @@ class BookingServiceImplTest {
                 .item(item)
                 .status(StatusBooking.APPROVED)
                 .build();
+        when(repository.approveByOwner(booking.getId(), userId)).thenReturn(0);
         when(repository.findById(booking.getId())).thenReturn(Optional.of(booking));
 
         Throwable exception = assertThrows(InvalidDataException.class,
                 () -> bookingService.updateBookingStatusByOwner(booking.getId(), userId, approvedStatus));
 
         assertEquals("Status already: approved", exception.getMessage());
-        verify(repository, never()).save(bookingArgumentCaptor.capture());
+        verify(itemDetailsCache, never()).evict(any());
     }
 
     @Test
@@ -207,13 +235,14 @@ class BookingServiceImplTest {
                 .item(item)
                 .status(StatusBooking.REJECTED)
                 .build();
+        when(repository.updateStatusByOwner(booking.getId(), userId, StatusBooking.REJECTED.name())).thenReturn(0);
         when(repository.findById(booking.getId())).thenReturn(Optional.of(booking));
 
         Throwable exception = assertThrows(InvalidDataException.class,
                 () -> bookingService.updateBookingStatusByOwner(booking.getId(), userId, approvedStatus));
 
         assertEquals("Status already: rejected", exception.getMessage());
-        verify(repository, never()).save(bookingArgumentCaptor.capture());
+        verify(itemDetailsCache, never()).evict(any());
     }
 
     @Test
@@ -224,30 +253,59 @@ class BookingServiceImplTest {
                 .item(item)
                 .status(StatusBooking.WAITING)
                 .build();
+        when(repository.approveByOwner(booking.getId(), userId)).thenReturn(0);
         when(repository.findById(booking.getId())).thenReturn(Optional.of(booking));
 
         Throwable exception = assertThrows(UserNotFoundException.class,
                 () -> bookingService.updateBookingStatusByOwner(booking.getId(), userId, approvedStatus));
 
         assertEquals("Only the owner of the item can confirm the booking.", exception.getMessage());
-        verify(repository, never()).save(bookingArgumentCaptor.capture());
+        verify(itemDetailsCache, never()).evict(any());
     }
 
     @Test
     void updateBookingStatusByOwner_whenOldBookingNotFound_thenThrown() {
         boolean approvedStatus = true;
+        when(repository.approveByOwner(1L, userId)).thenReturn(0);
+        when(repository.findById(1L)).thenReturn(Optional.empty());
+
+        Throwable exception = assertThrows(BookingNotFoundException.class,
+                () -> bookingService.updateBookingStatusByOwner(1L, userId, approvedStatus));
+
+        assertEquals("Booking not found", exception.getMessage());
+        verify(itemDetailsCache, never()).evict(any());
+    }
+
+    @Test
+    void updateBookingStatusByOwner_whenApprovedBookingOverlaps_thenThrown() {
+        userId = 10L;
         Booking booking = Booking.builder()
                 .id(1L)
                 .item(item)
+                .startDate(currentDateTime.plusDays(1))
+                .endDate(currentDateTime.plusDays(2))
                 .status(StatusBooking.WAITING)
                 .build();
-        when(repository.findById(booking.getId())).thenReturn(Optional.empty());
+        when(repository.approveByOwner(booking.getId(), userId)).thenReturn(0);
+        when(repository.findById(booking.getId())).thenReturn(Optional.of(booking));
 
-        Throwable exception = assertThrows(BookingNotFoundException.class,
-                () -> bookingService.updateBookingStatusByOwner(booking.getId(), userId, approvedStatus));
+        Throwable exception = assertThrows(BookingConflictException.class,
+                () -> bookingService.updateBookingStatusByOwner(booking.getId(), userId, true));
 
-        assertEquals("Booking not found", exception.getMessage());
-        verify(repository, never()).save(bookingArgumentCaptor.capture());
+        assertEquals("Item is already booked for these dates", exception.getMessage());
+        verify(itemDetailsCache, never()).evict(any());
+    }
+
+    @Test
+    void updateBookingStatusByOwner_whenConstraintRejectsConcurrentApproval_thenThrown() {
+        userId = 10L;
+        when(repository.approveByOwner(1L, userId))
+                .thenThrow(new DataIntegrityViolationException("ex_bookings_item_approved_overlap"));
+
+        assertThrows(BookingConflictException.class,
+                () -> bookingService.updateBookingStatusByOwner(1L, userId, true));
+        verify(repository, never()).findById(any());
+        verify(itemDetailsCache, never()).evict(any());
     }
 
     @Test
@@ -353,12 +411,12 @@ class BookingServiceImplTest {
                 .build();
         secondBooking.setBooker(user);
         List<Booking> expectedListBooking = List.of(secondBooking);
-        Page<Booking> page = new PageImpl<>(expectedListBooking);
+        Slice<Booking> page = new SliceImpl<>(expectedListBooking);
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(repository.findAllByBooker_IdOrderByStartDateDesc(userId, PageRequest.of(0 / 20, 20)))
+        when(repository.findSlice(any(Specification.class), eq(PAGE_REQUEST)))
                 .thenReturn(page);
 
-        List<Booking> actualBookings = bookingService.getAllBookingsByAuthor(statusState, userId, 0, 20);
+        List<Booking> actualBookings = bookingService.getAllBookingsByAuthor(statusState, userId, 0, 20).getContent();
 
         assertEquals(1, actualBookings.size());
         assertEquals(page.getContent(), actualBookings);
@@ -381,12 +439,12 @@ class BookingServiceImplTest {
         booking.setBooker(user);
         booking.setEndDate(currentDateTime.minusDays(1));
         List<Booking> expectedListBooking = List.of(booking);
-        Page<Booking> page = new PageImpl<>(expectedListBooking);
+        Slice<Booking> page = new SliceImpl<>(expectedListBooking);
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(repository.findAllByBooker_IdOrderByStartDateDesc(userId, PageRequest.of(0 / 20, 20)))
+        when(repository.findSlice(any(Specification.class), eq(PAGE_REQUEST)))
                 .thenReturn(page);
 
-        List<Booking> actualBookings = bookingService.getAllBookingsByAuthor(statusState, userId, 0, 20);
+        List<Booking> actualBookings = bookingService.getAllBookingsByAuthor(statusState, userId, 0, 20).getContent();
 
         assertEquals(1, actualBookings.size());
         assertEquals(page.getContent(), actualBookings);
@@ -410,12 +468,12 @@ class BookingServiceImplTest {
         booking.setBooker(user);
         booking.setStartDate(currentDateTime.plusDays(1));
         List<Booking> expectedListBooking = List.of(booking);
-        Page<Booking> page = new PageImpl<>(expectedListBooking);
+        Slice<Booking> page = new SliceImpl<>(expectedListBooking);
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(repository.findAllByBooker_IdOrderByStartDateDesc(userId, PageRequest.of(0 / 20, 20)))
+        when(repository.findSlice(any(Specification.class), eq(PAGE_REQUEST)))
                 .thenReturn(page);
 
-        List<Booking> actualBookings = bookingService.getAllBookingsByAuthor(statusState, userId, 0, 20);
+        List<Booking> actualBookings = bookingService.getAllBookingsByAuthor(statusState, userId, 0, 20).getContent();
 
         assertEquals(1, actualBookings.size());
         assertEquals(page.getContent(), actualBookings);
@@ -448,12 +506,12 @@ class BookingServiceImplTest {
         secondBooking.setStartDate(currentDateTime.minusDays(1));
         secondBooking.setEndDate(currentDateTime.plusDays(1));
         List<Booking> expectedListBooking = List.of(booking, secondBooking);
-        Page<Booking> page = new PageImpl<>(expectedListBooking);
+        Slice<Booking> page = new SliceImpl<>(expectedListBooking);
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(repository.findAllByBooker_IdOrderByStartDateDesc(userId, PageRequest.of(0 / 20, 20)))
+        when(repository.findSlice(any(Specification.class), eq(PAGE_REQUEST)))
                 .thenReturn(page);
 
-        List<Booking> actualBookings = bookingService.getAllBookingsByAuthor(statusState, userId, 0, 20);
+        List<Booking> actualBookings = bookingService.getAllBookingsByAuthor(statusState, userId, 0, 20).getContent();
 
         assertEquals(2, actualBookings.size());
         assertEquals(page.getContent(), actualBookings);
@@ -480,12 +538,12 @@ class BookingServiceImplTest {
         booking.setStartDate(currentDateTime.minusDays(1));
         booking.setEndDate(currentDateTime.plusDays(1));
         List<Booking> expectedListBooking = List.of(booking);
-        Page<Booking> page = new PageImpl<>(expectedListBooking);
+        Slice<Booking> page = new SliceImpl<>(expectedListBooking);
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(repository.findAllByBooker_IdOrderByStartDateDesc(userId, PageRequest.of(0 / 20, 20)))
+        when(repository.findSlice(any(Specification.class), eq(PAGE_REQUEST)))
                 .thenReturn(page);
 
-        List<Booking> actualBookings = bookingService.getAllBookingsByAuthor(statusState, userId, 0, 20);
+        List<Booking> actualBookings = bookingService.getAllBookingsByAuthor(statusState, userId, 0, 20).getContent();
 
         assertEquals(1, actualBookings.size());
         assertEquals(page.getContent(), actualBookings);
@@ -510,12 +568,12 @@ class BookingServiceImplTest {
         booking.setStartDate(currentDateTime.minusDays(1));
         booking.setEndDate(currentDateTime.plusDays(1));
         List<Booking> expectedListBooking = List.of(booking);
-        Page<Booking> page = new PageImpl<>(expectedListBooking);
+        Slice<Booking> page = new SliceImpl<>(expectedListBooking);
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(repository.findAllByBooker_IdOrderByStartDateDesc(userId, PageRequest.of(0 / 20, 20)))
+        when(repository.findSlice(any(Specification.class), eq(PAGE_REQUEST)))
                 .thenReturn(page);
 
-        List<Booking> actualBookings = bookingService.getAllBookingsByAuthor(statusState, userId, 0, 20);
+        List<Booking> actualBookings = bookingService.getAllBookingsByAuthor(statusState, userId, 0, 20).getContent();
 
         assertEquals(1, actualBookings.size());
         assertEquals(page.getContent(), actualBookings);
@@ -551,9 +609,9 @@ class BookingServiceImplTest {
     void getAllBookingByOwner_whenOwnerHasNoItem_thenThrown() {
         userId = 2L;
         List<Booking> expectedListBooking = Collections.emptyList();
-        Page<Booking> page = new PageImpl<>(expectedListBooking);
+        Slice<Booking> page = new SliceImpl<>(expectedListBooking);
         when(userRepository.findById(userId)).thenReturn(Optional.of(new User()));
-        when(repository.findAllByItem_Owner_IdOrderByStartDateDesc(userId, PageRequest.of(0 / 20, 20)))
+        when(repository.findSlice(any(Specification.class), eq(PAGE_REQUEST)))
                 .thenReturn(page);
 
         Throwable exception = assertThrows(ItemNotFoundException.class,
@@ -562,6 +620,19 @@ class BookingServiceImplTest {
         assertEquals("This user has no item", exception.getMessage());
     }
 
+    @Test
+    void getAllBookingByOwner_whenOwnerHasItemButNoBookingsInState_thenReturnEmptyList() {
+        userId = 10L;
+        when(userRepository.findById(userId)).thenReturn(Optional.of(new User()));
+        when(repository.findSlice(any(Specification.class), eq(PAGE_REQUEST)))
+                .thenReturn(new SliceImpl<>(List.of()));
+        when(repository.existsByItem_Owner_Id(userId)).thenReturn(true);
+
+        List<Booking> actualBookings = bookingService.getAllBookingByOwner(StatusState.WAITING, userId, 0, 20).getContent();
+
+        assertTrue(actualBookings.isEmpty());
+    }
+
     @Test
     void getAllBookingByOwner_whenOwnerHasItem_thenReturnCorrectDataValueList() {
         userId = 10L;
@@ -578,12 +649,12 @@ class BookingServiceImplTest {
                 .build();
         secondBooking.setBooker(user);
         List<Booking> expectedListBooking = List.of(secondBooking);
-        Page<Booking> page = new PageImpl<>(expectedListBooking);
+        Slice<Booking> page = new SliceImpl<>(expectedListBooking);
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(repository.findAllByItem_Owner_IdOrderByStartDateDesc(userId, PageRequest.of(0 / 20, 20)))
+        when(repository.findSlice(any(Specification.class), eq(PAGE_REQUEST)))
                 .thenReturn(page);
 
-        List<Booking> actualBookings = bookingService.getAllBookingByOwner(statusState, userId, 0, 20);
+        List<Booking> actualBookings = bookingService.getAllBookingByOwner(statusState, userId, 0, 20).getContent();
 
         assertEquals(1, actualBookings.size());
         assertEquals(page.getContent(), actualBookings);
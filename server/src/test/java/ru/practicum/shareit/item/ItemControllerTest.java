@@ -8,11 +8,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentDtoRequest;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 import ru.practicum.shareit.item.entity.Comment;
@@ -21,9 +23,11 @@ import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -72,7 +76,7 @@ class ItemControllerTest {
     @SneakyThrows
     @Test
     void getAllItems_whenValidParam_thenReturnedListDtoItemsStatusCode200() {
-        when(service.getAllItems(userId, 0, 20)).thenReturn(expectedList);
+        when(service.getAllItems(userId, 0, 20)).thenReturn(new SliceImpl<>(expectedList));
 
         String result = mockMvc.perform(get("/items")
                         .header(REQUEST_HEADER_SHARER_USER_ID, userId)
@@ -103,6 +107,32 @@ class ItemControllerTest {
         verify(service).getItemById(itemId, userId);
     }
 
+    @SneakyThrows
+    @Test
+    void getAvailability_whenValidWindow_thenReturnedAvailabilityStatusCode200() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 2, 10, 0);
+        ItemAvailabilityDto availability = ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .free(true)
+                .busy(List.of())
+                .build();
+        when(service.getAvailability(itemId, from, to)).thenReturn(availability);
+
+        String result = mockMvc.perform(get("/items/{itemId}/availability", itemId)
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("to", "2030-01-02T10:00:00"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        checkEqualsResult(availability, result);
+        verify(service).getAvailability(itemId, from, to);
+    }
+
     @SneakyThrows
     @Test
     void createItem_whenValidData_thenReturnedCreateItemStatusCode200() {
@@ -178,6 +208,31 @@ class ItemControllerTest {
         verify(service).searchItemForText(text, 0, 20);
     }
 
+    @SneakyThrows
+    @Test
+    void searchItemForText_whenFreeWindowGiven_thenSearchedFreeItemsStatusCode200() {
+        List<Item> items = List.of(item);
+        List<ItemDto> expectedList = List.of(itemDto);
+        String text = "name";
+        LocalDateTime freeFrom = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime freeTo = freeFrom.plusDays(1);
+        when(service.searchFreeItemsForText(text, freeFrom, freeTo, 0, 20)).thenReturn(items);
+        when(mapper.toItemDto(items.get(0))).thenReturn(itemDto);
+
+        String result = mockMvc.perform(get("/items/search")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .param("text", text)
+                        .param("freeFrom", freeFrom.toString())
+                        .param("freeTo", freeTo.toString()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        checkEqualsResult(expectedList, result);
+        verify(service, never()).searchItemForText(text, 0, 20);
+    }
+
     @SneakyThrows
     @Test
     void createComment_whenValidData_thenCreateCommentStatusCode200() {
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.statusEnum.StatusBooking;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.entity.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+class ItemRepositoryTest {
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .name("owner")
+                .email("owner@gmail.com")
+                .build());
+    }
+
+    @Test
+    void searchItemForText_whenTextInNameAndDescription_thenNameMatchesFirst() {
+        Item descriptionMatch = saveItem("Drill", "Cordless screwdriver kit", true);
+        Item nameMatch = saveItem("Screwdriver", "Flat head", true);
+        saveItem("Screwdriver set", "Not available", false);
+
+        List<Item> actualItems = itemRepository.searchItemForText("screwDRIVER", PageRequest.of(0, 20))
+                .getContent();
+
+        assertEquals(List.of(nameMatch, descriptionMatch), actualItems);
+    }
+
+    @Test
+    void searchFreeItemsForText_whenApprovedBookingOverlapsWindow_thenItemExcluded() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Item booked = saveItem("Drill", "Cordless", true);
+        Item waitingOnly = saveItem("Drill press", "Bench", true);
+        Item bookedLater = saveItem("Hammer drill", "Heavy", true);
+        saveBooking(booked, start, start.plusDays(2), StatusBooking.APPROVED);
+        saveBooking(waitingOnly, start, start.plusDays(2), StatusBooking.WAITING);
+        saveBooking(bookedLater, start.plusDays(2), start.plusDays(3), StatusBooking.APPROVED);
+
+        List<Item> actualItems = itemRepository.searchFreeItemsForText("drill", start.plusDays(1),
+                        start.plusDays(2), PageRequest.of(0, 20))
+                .getContent();
+
+        assertEquals(List.of(waitingOnly, bookedLater), actualItems);
+    }
+
+    private void saveBooking(Item item, LocalDateTime start, LocalDateTime end, StatusBooking status) {
+        bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(owner)
+                .startDate(start)
+                .endDate(end)
+                .status(status)
+                .build());
+    }
+
+    private Item saveItem(String name, String description, boolean available) {
+        return itemRepository.save(Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build());
+    }
+}
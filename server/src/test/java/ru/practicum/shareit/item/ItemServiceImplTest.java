@@ -8,22 +8,28 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingOwnerDto;
 import ru.practicum.shareit.booking.entity.Booking;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.statusEnum.StatusBooking;
 import ru.practicum.shareit.exceptions.InvalidDataException;
 import ru.practicum.shareit.exceptions.ItemNotFoundException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.availability.AvailabilityTimelines;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.dto.BusySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 import ru.practicum.shareit.item.entity.Comment;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.entity.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
@@ -36,7 +42,10 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -55,6 +64,12 @@ class ItemServiceImplTest {
     @Mock
     private ItemRequestRepository itemRequestRepository;
     @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private ItemDetailsCache itemDetailsCache;
+    @Mock
+    private AvailabilityTimelines availabilityTimelines;
+    @Mock
     private ItemMapper itemMapper;
     @Mock
     private BookingMapper bookingMapper;
@@ -84,7 +99,7 @@ class ItemServiceImplTest {
     @Test
     void getAllItems_whenValidData_thenReturnedCorrectList() {
         long userId = 0L;
-        Page<Item> itemsUserOwner = new PageImpl<>(List.of(new Item()));
+        Slice<Item> itemsUserOwner = new SliceImpl<>(List.of(new Item()));
         List<CommentDto> comments = new ArrayList<>();
         ItemDtoWithBooking itemDto = new ItemDtoWithBooking();
         itemDto.setId(1L);
@@ -95,17 +110,92 @@ class ItemServiceImplTest {
         when(itemMapper.toItemDtoBooking(item, comments))
                 .thenReturn(itemDto);
 
-        List<ItemDtoWithBooking> actualList = itemService.getAllItems(userId, PAGE, SIZE);
+        List<ItemDtoWithBooking> actualList = itemService.getAllItems(userId, PAGE, SIZE).getContent();
 
         assertEquals(1, actualList.size());
         InOrder inOrder = Mockito.inOrder(repository, itemMapper, bookingRepository, commentRepository);
         inOrder.verify(repository)
                 .findAllByOwner_IdOrderByIdAsc(userId, PageRequest.of(PAGE, SIZE));
-        inOrder.verify(commentRepository).findCommentsByUser_Id(userId);
+        inOrder.verify(commentRepository).findCommentsByItem_IdIn(List.of(1L));
         inOrder.verify(itemMapper)
                 .toItemDtoBooking(item, comments);
     }
 
+    @Test
+    void getAllItems_whenItemsHaveBookings_thenLastAndNextBookingResolvedInOneQuery() {
+        long userId = 0L;
+        Item item = Item.builder()
+                .id(1L)
+                .build();
+        Booking lastBooking = Booking.builder()
+                .id(1L)
+                .item(item)
+                .startDate(CURRENT_DATE_TIME.minusDays(2))
+                .endDate(CURRENT_DATE_TIME.minusDays(1))
+                .build();
+        Booking nextBooking = Booking.builder()
+                .id(2L)
+                .item(item)
+                .startDate(CURRENT_DATE_TIME.plusDays(1))
+                .endDate(CURRENT_DATE_TIME.plusDays(2))
+                .build();
+        BookingOwnerDto lastBookingDto = BookingOwnerDto.builder().id(1L).build();
+        BookingOwnerDto nextBookingDto = BookingOwnerDto.builder().id(2L).build();
+        when(repository.findAllByOwner_IdOrderByIdAsc(userId, PageRequest.of(PAGE, SIZE)))
+                .thenReturn(new SliceImpl<>(List.of(item)));
+        when(bookingRepository.findLastAndNextBookingsByItemIds(eq(List.of(1L)), any(LocalDateTime.class)))
+                .thenReturn(List.of(lastBooking, nextBooking));
+        when(itemMapper.toItemDtoBooking(eq(item), any()))
+                .thenReturn(new ItemDtoWithBooking());
+        when(bookingMapper.toBookingOwnerDto(lastBooking)).thenReturn(lastBookingDto);
+        when(bookingMapper.toBookingOwnerDto(nextBooking)).thenReturn(nextBookingDto);
+
+        List<ItemDtoWithBooking> actualList = itemService.getAllItems(userId, PAGE, SIZE).getContent();
+
+        assertEquals(1, actualList.size());
+        assertEquals(lastBookingDto, actualList.get(0).getLastBooking());
+        assertEquals(nextBookingDto, actualList.get(0).getNextBooking());
+        verify(bookingRepository, times(1)).findLastAndNextBookingsByItemIds(anyList(), any(LocalDateTime.class));
+        verify(bookingRepository, never()).findFirstByItem_IdAndStartDateBeforeOrderByEndDateDesc(anyLong(), any());
+    }
+
+    @Test
+    void getAllItems_whenItemsHaveComments_thenCommentsGroupedByItem() {
+        long userId = 0L;
+        Item firstItem = Item.builder()
+                .id(1L)
+                .build();
+        Item secondItem = Item.builder()
+                .id(2L)
+                .build();
+        Comment comment = Comment.builder()
+                .id(1L)
+                .item(secondItem)
+                .build();
+        CommentDto commentDto = CommentDto.builder()
+                .id(1L)
+                .build();
+        when(repository.findAllByOwner_IdOrderByIdAsc(userId, PageRequest.of(PAGE, SIZE)))
+                .thenReturn(new SliceImpl<>(List.of(firstItem, secondItem)));
+        when(commentRepository.findCommentsByItem_IdIn(List.of(1L, 2L))).thenReturn(List.of(comment));
+        when(commentMapper.toCommentDto(comment)).thenReturn(commentDto);
+        when(itemMapper.toItemDtoBooking(eq(firstItem), any()))
+                .thenAnswer(invocation -> ItemDtoWithBooking.builder()
+                        .comments(invocation.getArgument(1))
+                        .build());
+        when(itemMapper.toItemDtoBooking(eq(secondItem), any()))
+                .thenAnswer(invocation -> ItemDtoWithBooking.builder()
+                        .comments(invocation.getArgument(1))
+                        .build());
+
+        List<ItemDtoWithBooking> actualList = itemService.getAllItems(userId, PAGE, SIZE).getContent();
+
+        assertEquals(2, actualList.size());
+        assertTrue(actualList.get(0).getComments().isEmpty());
+        assertEquals(List.of(commentDto), actualList.get(1).getComments());
+        verify(commentRepository, times(1)).findCommentsByItem_IdIn(anyList());
+    }
+
     @Test
     void getItemById_whenItemFound_thenReturnedItemDtoWithBooking() {
         Item expectedItem = new Item();
@@ -146,6 +236,38 @@ class ItemServiceImplTest {
         assertNull(actualItem.getNextBooking());
     }
 
+    @Test
+    void getItemById_whenOwnerAndOnlyFutureBookings_thenCachedUntilFirstStarts() {
+        Item expectedItem = new Item();
+        expectedItem.setId(1L);
+        expectedItem.setOwner(User.builder()
+                .id(userId)
+                .build());
+        ItemDtoWithBooking ex = new ItemDtoWithBooking();
+        LocalDateTime nextStart = LocalDateTime.now().plusHours(1);
+        when(repository.findById(1L)).thenReturn(Optional.of(expectedItem));
+        when(itemMapper.toItemDtoBooking(eq(expectedItem), anyList())).thenReturn(ex);
+        when(bookingRepository.findNextStartDateByItemId(eq(1L), any())).thenReturn(Optional.of(nextStart));
+
+        ItemDtoWithBooking actualItem = itemService.getItemById(1L, userId);
+
+        assertNull(actualItem.getNextBooking());
+        verify(itemDetailsCache, times(1)).put(eq(1L), eq(userId), eq(true), eq(ex), eq(nextStart), anyLong());
+    }
+
+    @Test
+    void getItemById_whenItemCached_thenReturnedWithoutQueries() {
+        ItemDtoWithBooking cachedItem = new ItemDtoWithBooking();
+        cachedItem.setId(1L);
+        when(itemDetailsCache.get(1L, userId)).thenReturn(Optional.of(cachedItem));
+
+        ItemDtoWithBooking actualItem = itemService.getItemById(1L, userId);
+
+        assertEquals(cachedItem, actualItem);
+        verify(repository, never()).findById(anyLong());
+        verify(commentRepository, never()).findCommentsByItem_Id(anyLong());
+    }
+
     @Test
     void createItem_whenUserExistsAndItemExists_thenSavedItem() {
         ItemRequest request = new ItemRequest();
@@ -161,6 +283,7 @@ class ItemServiceImplTest {
         Item actualItem = itemService.createItem(userId, expectedItem);
 
         verify(repository, times(1)).save(expectedItem);
+        verify(itemSearchIndex, times(1)).index(expectedItem.getId());
         assertEquals(expectedItem, actualItem);
     }
 
@@ -204,6 +327,7 @@ class ItemServiceImplTest {
         verify(repository, times(1)).save(expectedItem);
         assertEquals(expectedItem, actualItem);
         verify(repository, times(2)).findById(expectedItem.getId());
+        verify(itemDetailsCache, times(1)).evict(1L);
     }
 
     @Test
@@ -258,11 +382,52 @@ class ItemServiceImplTest {
                 .name("Find name")
                 .build();
         when(repository.searchItemForText("name", PageRequest.of(PAGE, SIZE)))
-                .thenReturn(new PageImpl<>(List.of(expectedItem)));
+                .thenReturn(new SliceImpl<>(List.of(expectedItem)));
+
+        List<Item> actualItems = itemService.searchItemForText("name", PAGE, SIZE);
+
+        assertEquals("Find name", actualItems.get(0).getName());
+    }
+
+    @Test
+    void searchItemForText_whenInMemoryIndexEnabled_thenSearchedInIndex() {
+        Item expectedItem = Item.builder()
+                .name("Find name")
+                .build();
+        when(itemSearchIndex.isEnabled()).thenReturn(true);
+        when(itemSearchIndex.search("name", PAGE, SIZE)).thenReturn(List.of(expectedItem));
 
         List<Item> actualItems = itemService.searchItemForText("name", PAGE, SIZE);
 
         assertEquals("Find name", actualItems.get(0).getName());
+        verify(repository, never()).searchItemForText(anyString(), any(PageRequest.class));
+    }
+
+    @Test
+    void searchFreeItemsForText_whenValidWindow_thenSearchedWithAntiJoin() {
+        Item expectedItem = Item.builder()
+                .name("Find name")
+                .build();
+        LocalDateTime freeFrom = LocalDateTime.now();
+        LocalDateTime freeTo = freeFrom.plusDays(1);
+        when(repository.searchFreeItemsForText("name", freeFrom, freeTo, PageRequest.of(PAGE, SIZE)))
+                .thenReturn(new SliceImpl<>(List.of(expectedItem)));
+
+        List<Item> actualItems = itemService.searchFreeItemsForText("name", freeFrom, freeTo, PAGE, SIZE);
+
+        assertEquals("Find name", actualItems.get(0).getName());
+        verify(itemSearchIndex, never()).search(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchFreeItemsForText_whenWindowIncomplete_thenInvalidDataExceptionThrown() {
+        LocalDateTime freeFrom = LocalDateTime.now();
+
+        assertThrows(InvalidDataException.class,
+                () -> itemService.searchFreeItemsForText("name", freeFrom, null, PAGE, SIZE));
+        assertThrows(InvalidDataException.class,
+                () -> itemService.searchFreeItemsForText("name", freeFrom, freeFrom, PAGE, SIZE));
+        verify(repository, never()).searchFreeItemsForText(anyString(), any(), any(), any());
     }
 
     @Test
@@ -351,4 +516,52 @@ class ItemServiceImplTest {
         assertEquals("Could not find item for this renter", ex.getMessage());
         verify(commentRepository, never()).save(expectedComment);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAvailability_whenTimelineCannotAnswer_thenBusySlotsFromRangeQuery() {
+        LocalDateTime from = CURRENT_DATE_TIME.plusDays(1);
+        LocalDateTime to = CURRENT_DATE_TIME.plusDays(3);
+        Booking approved = Booking.builder()
+                .id(1L)
+                .status(StatusBooking.APPROVED)
+                .startDate(CURRENT_DATE_TIME.plusDays(2))
+                .endDate(CURRENT_DATE_TIME.plusDays(4))
+                .build();
+        when(repository.findById(expectedItem.getId())).thenReturn(Optional.of(expectedItem));
+        when(bookingRepository.findAllByItem_IdAndStatusAndStartDateBeforeAndEndDateAfterOrderByStartDateAsc(
+                expectedItem.getId(), StatusBooking.APPROVED, to, from)).thenReturn(List.of(approved));
+
+        ItemAvailabilityDto availability = itemService.getAvailability(expectedItem.getId(), from, to);
+
+        assertFalse(availability.getFree());
+        assertEquals(List.of(new BusySlotDto(approved.getStartDate(), approved.getEndDate())),
+                availability.getBusy());
+        verify(availabilityTimelines).findBusy(eq(expectedItem.getId()), eq(from), eq(to), any());
+        verify(bookingRepository, never()).findAllByItem_IdAndStatusAndEndDateAfterOrderByStartDateAsc(any(), any(),
+                any());
+    }
+
+    @Test
+    void getAvailability_whenTimelineResident_thenNoRangeQuery() {
+        LocalDateTime from = CURRENT_DATE_TIME.plusDays(1);
+        LocalDateTime to = CURRENT_DATE_TIME.plusDays(3);
+        when(repository.findById(expectedItem.getId())).thenReturn(Optional.of(expectedItem));
+        when(availabilityTimelines.findBusy(eq(expectedItem.getId()), eq(from), eq(to), any()))
+                .thenReturn(Optional.of(List.of()));
+
+        ItemAvailabilityDto availability = itemService.getAvailability(expectedItem.getId(), from, to);
+
+        assertTrue(availability.getFree());
+        verify(bookingRepository, never())
+                .findAllByItem_IdAndStatusAndStartDateBeforeAndEndDateAfterOrderByStartDateAsc(any(), any(), any(), any());
+    }
+
+    @Test
+    void getAvailability_whenWindowEndsBeforeStart_thenThrown() {
+        LocalDateTime from = CURRENT_DATE_TIME.plusDays(3);
+        LocalDateTime to = CURRENT_DATE_TIME.plusDays(1);
+
+        assertThrows(InvalidDataException.class, () -> itemService.getAvailability(1L, from, to));
+        verify(repository, never()).findById(any());
+    }
+}
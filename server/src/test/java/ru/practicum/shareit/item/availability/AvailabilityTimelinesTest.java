@@ -0,0 +1,136 @@
+package ru.practicum.shareit.item.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.statusEnum.StatusBooking;
+import ru.practicum.shareit.item.dto.BusySlotDto;
+import ru.practicum.shareit.item.entity.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AvailabilityTimelinesTest {
+    private static final LocalDateTime BASE = LocalDateTime.now().plusDays(1);
+
+    private AvailabilityTimelines timelines;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        timelines = new AvailabilityTimelines(true, 100, 30);
+        item = Item.builder()
+                .id(1L)
+                .build();
+    }
+
+    @Test
+    void findBusy_whenNotResident_thenLoadedOnceAndAnswered() {
+        AtomicInteger loads = new AtomicInteger();
+        Function<LocalDateTime, List<Booking>> loader = horizon -> {
+            loads.incrementAndGet();
+            return List.of(approved(1L, BASE, BASE.plusDays(1)));
+        };
+
+        assertEquals(List.of(new BusySlotDto(BASE, BASE.plusDays(1))),
+                timelines.findBusy(1L, BASE, BASE.plusDays(1), loader).orElseThrow());
+        assertEquals(1, timelines.findBusy(1L, BASE, BASE.plusDays(1), loader).orElseThrow().size());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void findBusy_whenLoaded_thenReturnedSlotsIntersectingWindow() {
+        load(approved(1L, BASE, BASE.plusDays(2)),
+                approved(2L, BASE.plusDays(3), BASE.plusDays(4)),
+                approved(3L, BASE.plusDays(5), BASE.plusDays(6)));
+
+        List<BusySlotDto> busy = findBusy(BASE.plusDays(1), BASE.plusDays(3).plusHours(1)).orElseThrow();
+
+        assertEquals(List.of(new BusySlotDto(BASE, BASE.plusDays(2)),
+                new BusySlotDto(BASE.plusDays(3), BASE.plusDays(4))), busy);
+        assertTrue(findBusy(BASE.plusDays(2), BASE.plusDays(3)).orElseThrow().isEmpty());
+    }
+
+    @Test
+    void findBusy_whenSlotsOverlap_thenLongSlotStartingEarlierReturned() {
+        load(approved(1L, BASE, BASE.plusDays(5)),
+                approved(2L, BASE.plusDays(1), BASE.plusDays(2)));
+
+        List<BusySlotDto> busy = findBusy(BASE.plusDays(3), BASE.plusDays(4)).orElseThrow();
+
+        assertEquals(List.of(new BusySlotDto(BASE, BASE.plusDays(5))), busy);
+    }
+
+    @Test
+    void findBusy_whenWindowStartsBeforeNow_thenEmptyAndNothingLoaded() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertTrue(timelines.findBusy(1L, LocalDateTime.now().minusDays(1), BASE, horizon -> {
+            loads.incrementAndGet();
+            return List.of();
+        }).isEmpty());
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void findBusy_whenDisabled_thenEmptyAndNothingLoaded() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertTrue(new AvailabilityTimelines(false, 100, 30).findBusy(1L, BASE, BASE.plusDays(1), horizon -> {
+            loads.incrementAndGet();
+            return List.of();
+        }).isEmpty());
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void onBookingChanged_whenApprovedThenRejected_thenSlotAddedAndRemoved() {
+        load();
+        Booking booking = approved(1L, BASE, BASE.plusDays(1));
+
+        timelines.onBookingChanged(booking);
+        assertEquals(1, findBusy(BASE, BASE.plusDays(1)).orElseThrow().size());
+
+        booking.setStatus(StatusBooking.REJECTED);
+        timelines.onBookingChanged(booking);
+        assertTrue(findBusy(BASE, BASE.plusDays(1)).orElseThrow().isEmpty());
+    }
+
+    @Test
+    void onBookingChanged_whenNotLoaded_thenStaysNotResident() {
+        AtomicInteger loads = new AtomicInteger();
+        timelines.onBookingChanged(approved(1L, BASE, BASE.plusDays(1)));
+
+        assertTrue(timelines.findBusy(1L, BASE, BASE.plusDays(1), horizon -> {
+            loads.incrementAndGet();
+            return List.of();
+        }).orElseThrow().isEmpty());
+        assertEquals(1, loads.get());
+    }
+
+    private void load(Booking... approved) {
+        timelines.findBusy(1L, BASE, BASE, horizon -> List.of(approved));
+    }
+
+    private Optional<List<BusySlotDto>> findBusy(LocalDateTime from, LocalDateTime to) {
+        return timelines.findBusy(1L, from, to, horizon -> {
+            throw new AssertionError("timeline should be resident");
+        });
+    }
+
+    private Booking approved(Long id, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .id(id)
+                .item(item)
+                .startDate(start)
+                .endDate(end)
+                .status(StatusBooking.APPROVED)
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.item.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemDetailsCacheTest {
+    private static final long OWNER_ID = 1L;
+    private static final long VIEWER_ID = 2L;
+
+    private ItemDetailsCache cache;
+    private ItemDtoWithBooking ownerView;
+    private ItemDtoWithBooking viewerView;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ItemDetailsCache(true, 100, 600);
+        ownerView = ItemDtoWithBooking.builder()
+                .id(1L)
+                .name("owner view")
+                .build();
+        viewerView = ItemDtoWithBooking.builder()
+                .id(1L)
+                .name("viewer view")
+                .build();
+    }
+
+    @Test
+    void get_whenBothViewsCached_thenReturnedViewForUser() {
+        cache.put(1L, OWNER_ID, true, ownerView, null, cache.ticket());
+        cache.put(1L, OWNER_ID, false, viewerView, null, cache.ticket());
+
+        assertEquals(Optional.of(ownerView), cache.get(1L, OWNER_ID));
+        assertEquals(Optional.of(viewerView), cache.get(1L, VIEWER_ID));
+    }
+
+    @Test
+    void get_whenOnlyViewerViewCached_thenOwnerMisses() {
+        cache.put(1L, OWNER_ID, false, viewerView, null, cache.ticket());
+
+        assertTrue(cache.get(1L, OWNER_ID).isEmpty());
+    }
+
+    @Test
+    void evict_whenItemChanged_thenBothViewsRemoved() {
+        cache.put(1L, OWNER_ID, true, ownerView, null, cache.ticket());
+        cache.put(1L, OWNER_ID, false, viewerView, null, cache.ticket());
+
+        cache.evict(1L);
+
+        assertTrue(cache.get(1L, OWNER_ID).isEmpty());
+        assertTrue(cache.get(1L, VIEWER_ID).isEmpty());
+    }
+
+    @Test
+    void put_whenEvictedAfterTicketTaken_thenNotCached() {
+        long ticket = cache.ticket();
+        cache.evict(1L);
+
+        cache.put(1L, OWNER_ID, false, viewerView, null, ticket);
+
+        assertTrue(cache.get(1L, VIEWER_ID).isEmpty());
+        cache.put(1L, OWNER_ID, false, viewerView, null, cache.ticket());
+        assertEquals(Optional.of(viewerView), cache.get(1L, VIEWER_ID));
+    }
+
+    @Test
+    void put_whenEvictedAllAfterTicketTaken_thenNotCached() {
+        long ticket = cache.ticket();
+        cache.evictAll();
+
+        cache.put(2L, OWNER_ID, false, viewerView, null, ticket);
+
+        assertTrue(cache.get(2L, VIEWER_ID).isEmpty());
+    }
+
+    @Test
+    void get_whenRefreshMomentPassed_thenExpired() {
+        cache.put(1L, OWNER_ID, true, ownerView, LocalDateTime.now().minusSeconds(1), cache.ticket());
+
+        assertTrue(cache.get(1L, OWNER_ID).isEmpty());
+    }
+
+    @Test
+    void get_whenRefreshMomentAhead_thenCachedRegardlessOfNextBooking() {
+        ownerView.setNextBooking(null);
+        cache.put(1L, OWNER_ID, true, ownerView, LocalDateTime.now().plusHours(1), cache.ticket());
+
+        assertEquals(Optional.of(ownerView), cache.get(1L, OWNER_ID));
+    }
+
+    @Test
+    void get_whenDisabled_thenNothingCached() {
+        ItemDetailsCache disabledCache = new ItemDetailsCache(false, 100, 600);
+        disabledCache.put(1L, OWNER_ID, false, viewerView, null, disabledCache.ticket());
+
+        assertTrue(disabledCache.get(1L, VIEWER_ID).isEmpty());
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.entity.User;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        properties = {"spring.datasource.driverClassName=org.h2.Driver",
+                "spring.datasource.url=jdbc:h2:mem:search-index", "spring.datasource.username=test",
+                "spring.datasource.password=test", "shareit.search.in-memory.enabled=true"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ItemSearchIndexIntegrationTest {
+    private final ItemService service;
+    private final UserRepository userRepository;
+
+    @Test
+    void search_whenItemCreatedAndUpdated_thenCommittedStateIndexed() {
+        User owner = userRepository.save(User.builder()
+                .name("owner")
+                .email("search-owner@gmail.com")
+                .build());
+        Item item = service.createItem(owner.getId(), Item.builder()
+                .name("Hammer")
+                .description("Heavy")
+                .available(true)
+                .build());
+
+        assertThat(ids(service.searchItemForText("hammer", 0, 20)), equalTo(List.of(item.getId())));
+
+        service.updateItem(owner.getId(), Item.builder().name("Wrench").build(), item.getId());
+
+        assertThat(service.searchItemForText("hammer", 0, 20), empty());
+        assertThat(ids(service.searchItemForText("wrench", 0, 20)), equalTo(List.of(item.getId())));
+    }
+
+    private List<Long> ids(List<Item> items) {
+        return items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+}
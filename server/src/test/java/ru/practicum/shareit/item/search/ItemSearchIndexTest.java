@@ -0,0 +1,192 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.user.entity.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+    @Mock
+    private ItemRepository repository;
+
+    private ItemSearchIndex index;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex(repository, true);
+        owner = User.builder().id(1L).build();
+        when(repository.findAll(any(Sort.class))).thenReturn(List.of(
+                item(1L, "Drill", "Cordless screwdriver kit", true, owner),
+                item(2L, "Screwdriver", "Flat head", true, owner),
+                item(3L, "Screwdriver set", "Not available", false, owner)));
+        index.build();
+    }
+
+    @Test
+    void search_whenTextInNameAndDescription_thenNameMatchesFirst() {
+        List<Item> actualItems = index.search("screwDRIVER", 0, 20);
+
+        assertEquals(List.of(2L, 1L), ids(actualItems));
+    }
+
+    @Test
+    void search_whenTextShorterThanTerm_thenSearchedBySubstring() {
+        List<Item> actualItems = index.search("dr", 0, 20);
+
+        assertEquals(List.of(1L, 2L), ids(actualItems));
+    }
+
+    @Test
+    void search_whenPageRequested_thenReturnedPage() {
+        List<Item> actualItems = index.search("screwdriver", 1, 1);
+
+        assertEquals(List.of(1L), ids(actualItems));
+    }
+
+    @Test
+    void index_whenItemUpdated_thenOldTermsRemoved() {
+        index(item(2L, "Hammer", "Heavy", true, owner));
+
+        assertEquals(List.of(1L), ids(index.search("screwdriver", 0, 20)));
+        assertEquals(List.of(2L), ids(index.search("hammer", 0, 20)));
+    }
+
+    @Test
+    void removeAllByOwner_whenOwnerDeleted_thenItemsNotFound() {
+        index(item(4L, "Screwdriver mini", "Small", true, User.builder().id(2L).build()));
+
+        index.removeAllByOwner(1L);
+
+        assertEquals(List.of(4L), ids(index.search("screwdriver", 0, 20)));
+        assertTrue(index.search("drill", 0, 20).isEmpty());
+    }
+
+    @Test
+    void index_whenInTransaction_thenAppliedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index(item(4L, "Hammer", "Heavy", true, owner));
+
+            assertTrue(index.search("hammer", 0, 20).isEmpty());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(4L), ids(index.search("hammer", 0, 20)));
+    }
+
+    @Test
+    void index_whenTransactionRolledBack_thenNotApplied() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.index(4L);
+            index.removeAllByOwner(1L);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(index.search("hammer", 0, 20).isEmpty());
+        assertEquals(List.of(2L, 1L), ids(index.search("screwdriver", 0, 20)));
+    }
+
+    @Test
+    void index_whenCallbacksRunOutOfCommitOrder_thenLatestCommittedStateKept() {
+        when(repository.findCommittedById(2L)).thenReturn(
+                Optional.of(item(2L, "Hammer", "Heavy", true, owner)),
+                Optional.of(item(2L, "Wrench", "Adjustable", true, owner)));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.index(2L);
+            index.index(2L);
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.get(1).afterCommit();
+            synchronizations.get(0).afterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(index.search("hammer", 0, 20).isEmpty());
+        assertEquals(List.of(2L), ids(index.search("wrench", 0, 20)));
+    }
+
+    @Test
+    void index_whenRowNoLongerExists_thenRemoved() {
+        when(repository.findCommittedById(2L)).thenReturn(Optional.empty());
+
+        index.index(2L);
+
+        assertEquals(List.of(1L), ids(index.search("screwdriver", 0, 20)));
+    }
+
+    @Test
+    void index_whenItemsIndexedConcurrently_thenAllFound() throws Exception {
+        when(repository.findCommittedById(anyLong())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            return Optional.of(item(id, "Hammer " + id, "Heavy", true, owner));
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                long first = 100L + i * 100;
+                writers.add(executor.submit(() -> LongStream.range(first, first + 100).forEach(index::index)));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(800, index.search("hammer", 0, 1000).size());
+    }
+
+    private void index(Item item) {
+        when(repository.findCommittedById(item.getId())).thenReturn(Optional.of(item));
+        index.index(item.getId());
+    }
+
+    private Item item(Long id, String name, String description, boolean available, User owner) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build();
+    }
+
+    private List<Long> ids(List<Item> items) {
+        return items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+}
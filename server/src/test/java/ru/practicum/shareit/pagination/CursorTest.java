@@ -0,0 +1,58 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.exceptions.InvalidDataException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorTest {
+
+    @Test
+    void decode_whenTimestampedCursorEncoded_thenDecodedSamePosition() {
+        Cursor cursor = Cursor.of(LocalDateTime.of(2030, 1, 1, 10, 0, 0, 123456000), 42L);
+
+        assertEquals(cursor, Cursor.decode(cursor.encode(), true));
+    }
+
+    @Test
+    void decode_whenIdCursorEncoded_thenDecodedSamePosition() {
+        Cursor cursor = Cursor.of(7L);
+
+        assertEquals(cursor, Cursor.decode(cursor.encode(), false));
+    }
+
+    @Test
+    void decode_whenCursorKindMismatch_thenThrown() {
+        String idCursor = Cursor.of(7L).encode();
+
+        assertThrows(InvalidDataException.class, () -> Cursor.decode(idCursor, true));
+    }
+
+    @Test
+    void decode_whenCursorMalformed_thenThrown() {
+        assertThrows(InvalidDataException.class, () -> Cursor.decode("not a cursor!", false));
+    }
+
+    @Test
+    void nextCursorHeaders_whenFullPageIsLast_thenNoCursor() {
+        Slice<Long> last = new SliceImpl<>(List.of(1L, 2L), PageRequest.of(0, 2), false);
+
+        assertNull(Cursor.nextCursorHeaders(last, Cursor::of).getFirst(Cursor.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void nextCursorHeaders_whenSliceHasNext_thenCursorAfterLastRow() {
+        Slice<Long> page = new SliceImpl<>(List.of(1L, 2L), PageRequest.of(0, 2), true);
+
+        assertEquals(Cursor.of(2L).encode(),
+                Cursor.nextCursorHeaders(page, Cursor::of).getFirst(Cursor.NEXT_CURSOR_HEADER));
+    }
+}
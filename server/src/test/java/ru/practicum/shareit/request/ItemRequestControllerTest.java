@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
 import org.springframework.test.web.servlet.MockMvc;
@@ -126,7 +127,7 @@ class ItemRequestControllerTest {
         List<ItemRequest> itemRequests = List.of(itemRequest);
         List<ItemResponseDto> listDtoResponse = List.of(itemResponseDto);
         when(itemRequestService.findAllUsersRequests(userId, 0, 20))
-                .thenReturn(itemRequests);
+                .thenReturn(new SliceImpl<>(itemRequests));
         when(itemRequestMapper.itemRequestDto(itemRequests.get(0)))
                 .thenReturn(itemResponseDto);
 
@@ -1,10 +1,16 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.request.entity.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.entity.User;
@@ -12,6 +18,9 @@ import ru.practicum.shareit.user.entity.User;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -23,12 +32,14 @@ import static org.hamcrest.Matchers.notNullValue;
 @SpringBootTest(
         properties = {"spring.datasource.driverClassName=org.h2.Driver",
                 "spring.datasource.url=jdbc:h2:mem:test", "spring.datasource.username=test",
-                "spring.datasource.password=test"},
+                "spring.datasource.password=test", "spring.jpa.properties.hibernate.generate_statistics=true"},
         webEnvironment = SpringBootTest.WebEnvironment.NONE)
 class ItemRequestServiceImplIntegrationTest {
 
     private final ItemRequestService service;
     private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
     private final EntityManager em;
 
     private User user;
@@ -60,4 +71,81 @@ class ItemRequestServiceImplIntegrationTest {
         assertThat(actualRequest.getRequester().getId(), notNullValue());
         assertThat(actualRequest.getRequester().getId(), equalTo(itemRequest.getRequester().getId()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindAllUsersRequestsStatementCountNotDependsOnPageSize() {
+        User requester = userRepository.save(User.builder()
+                .name("requester")
+                .email("requester@gmail.com")
+                .build());
+        for (int i = 0; i < 12; i++) {
+            ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                    .description("description " + i)
+                    .requester(requester)
+                    .build());
+            itemRepository.save(Item.builder()
+                    .name("name " + i)
+                    .description("description " + i)
+                    .available(true)
+                    .owner(user)
+                    .itemRequest(request)
+                    .build());
+        }
+        em.flush();
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        long smallPageStatements = countStatements(statistics, 2);
+        long largePageStatements = countStatements(statistics, 10);
+
+        assertThat(largePageStatements, equalTo(smallPageStatements));
+    }
+
+    @Test
+    void testFindAllUsersRequestsWithEqualCreatedPagedByIdInBothModes() {
+        User requester = userRepository.save(User.builder()
+                .name("requester")
+                .email("requester@gmail.com")
+                .build());
+        List<Long> expectedIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            expectedIds.add(0, itemRequestRepository.save(ItemRequest.builder()
+                    .description("description " + i)
+                    .requester(requester)
+                    .build()).getId());
+        }
+        em.createQuery("UPDATE ItemRequest r SET r.created = :created")
+                .setParameter("created", LocalDateTime.of(2030, 1, 1, 10, 0))
+                .executeUpdate();
+        em.clear();
+
+        List<Long> offsetIds = new ArrayList<>();
+        Slice<ItemRequest> page;
+        int from = 0;
+        do {
+            page = service.findAllUsersRequests(user.getId(), from, 1);
+            page.forEach(request -> offsetIds.add(request.getId()));
+            from++;
+        } while (page.hasNext());
+
+        List<Long> cursorIds = new ArrayList<>();
+        page = service.findAllUsersRequests(user.getId(), 0, 1);
+        page.forEach(request -> cursorIds.add(request.getId()));
+        while (page.hasNext()) {
+            ItemRequest last = page.getContent().get(0);
+            page = service.findAllUsersRequests(user.getId(), Cursor.of(last.getCreated(), last.getId()), 1);
+            page.forEach(request -> cursorIds.add(request.getId()));
+        }
+
+        assertThat(offsetIds, equalTo(expectedIds));
+        assertThat(cursorIds, equalTo(expectedIds));
+    }
+
+    private long countStatements(Statistics statistics, int size) {
+        em.clear();
+        statistics.clear();
+        List<ItemRequest> requests = service.findAllUsersRequests(user.getId(), 0, size).getContent();
+        assertThat(requests.size(), equalTo(size));
+        requests.forEach(request -> assertThat(request.getItems().size(), equalTo(1)));
+        return statistics.getPrepareStatementCount();
+    }
+}
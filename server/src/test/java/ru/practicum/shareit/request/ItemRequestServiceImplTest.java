@@ -6,9 +6,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.exceptions.ItemRequestNotFoundException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
 import ru.practicum.shareit.item.ItemRepository;
@@ -127,14 +127,16 @@ class ItemRequestServiceImplTest {
         ItemRequest request = new ItemRequest();
         request.setId(requestId);
         List<ItemRequest> expectedRequests = List.of(request);
-        List<Item> items = List.of(new Item());
-        Page<ItemRequest> expectedResult = new PageImpl<>(expectedRequests);
+        List<Item> items = List.of(Item.builder()
+                .itemRequest(request)
+                .build());
+        Slice<ItemRequest> expectedResult = new SliceImpl<>(expectedRequests);
         when(userRepository.findById(userId)).thenReturn(Optional.of(expectedUser));
-        when(itemRequestRepository.findAllByRequester_IdNotOrderByCreatedDesc(userId, PageRequest.of(0, 20)))
+        when(itemRequestRepository.findAllByRequester_IdNotOrderByCreatedDescIdDesc(userId, PageRequest.of(0, 20)))
                 .thenReturn(expectedResult);
-        when(itemRepository.findAllByItemRequest_Id(requestId)).thenReturn(items);
+        when(itemRepository.findAllByItemRequest_IdIn(List.of(requestId))).thenReturn(items);
 
-        List<ItemRequest> actualRequests = itemRequestService.findAllUsersRequests(userId, 0, 20);
+        List<ItemRequest> actualRequests = itemRequestService.findAllUsersRequests(userId, 0, 20).getContent();
 
         assertEquals(1, actualRequests.size());
         assertEquals(expectedResult.getContent(), actualRequests);
@@ -142,6 +144,35 @@ class ItemRequestServiceImplTest {
         assertEquals(items, actualRequests.get(0).getItems());
     }
 
+    @Test
+    void findAllUsersRequests_whenSeveralRequests_thenItemsLoadedOnceAndDistributed() {
+        ItemRequest firstRequest = ItemRequest.builder()
+                .id(1L)
+                .build();
+        ItemRequest secondRequest = ItemRequest.builder()
+                .id(2L)
+                .build();
+        Item firstItem = Item.builder()
+                .id(1L)
+                .itemRequest(firstRequest)
+                .build();
+        Item secondItem = Item.builder()
+                .id(2L)
+                .itemRequest(firstRequest)
+                .build();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(expectedUser));
+        when(itemRequestRepository.findAllByRequester_IdNotOrderByCreatedDescIdDesc(userId, PageRequest.of(0, 20)))
+                .thenReturn(new SliceImpl<>(List.of(firstRequest, secondRequest)));
+        when(itemRepository.findAllByItemRequest_IdIn(List.of(1L, 2L))).thenReturn(List.of(firstItem, secondItem));
+
+        List<ItemRequest> actualRequests = itemRequestService.findAllUsersRequests(userId, 0, 20).getContent();
+
+        assertEquals(List.of(firstItem, secondItem), actualRequests.get(0).getItems());
+        assertTrue(actualRequests.get(1).getItems().isEmpty());
+        verify(itemRepository, times(1)).findAllByItemRequest_IdIn(anyList());
+        verify(itemRepository, never()).findAllByItemRequest_Id(anyLong());
+    }
+
     @Test
     void findAllUsersRequests_whenUserNotExist_thenReturnedThrown() {
         when(userRepository.findById(userId)).thenReturn(Optional.empty());
@@ -153,10 +184,10 @@ class ItemRequestServiceImplTest {
     @Test
     void findAllUsersRequests_whenItemRequestsIsEmpty_thenReturnedThrown() {
         when(userRepository.findById(userId)).thenReturn(Optional.of(expectedUser));
-        when(itemRequestRepository.findAllByRequester_IdNotOrderByCreatedDesc(userId, PageRequest.of(0, 20)))
-                .thenReturn(Page.empty());
+        when(itemRequestRepository.findAllByRequester_IdNotOrderByCreatedDescIdDesc(userId, PageRequest.of(0, 20)))
+                .thenReturn(new SliceImpl<>(List.of()));
 
-        List<ItemRequest> actualList = itemRequestService.findAllUsersRequests(userId, 0, 20);
+        List<ItemRequest> actualList = itemRequestService.findAllUsersRequests(userId, 0, 20).getContent();
 
         assertEquals(0, actualList.size());
         assertEquals(new ArrayList<>(), actualList);
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.user;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.user.entity.User;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(
+        properties = {"spring.datasource.driverClassName=org.h2.Driver",
+                "spring.datasource.url=jdbc:h2:mem:users-cache", "spring.datasource.username=test",
+                "spring.datasource.password=test", "spring.cache.type=caffeine",
+                "spring.jpa.properties.hibernate.generate_statistics=true"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext
+class UserRepositoryCacheTest {
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.save(User.builder()
+                .name("name")
+                .email("email@gmail.com")
+                .build());
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void findById_whenUserSaved_thenServedFromCache() {
+        userRepository.findById(user.getId());
+        userRepository.findById(user.getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findById_whenReturnedUserChangedWithoutSave_thenCachedUserUnchanged() {
+        userRepository.findById(user.getId()).orElseThrow().setName("changed");
+
+        assertEquals("name", userRepository.findById(user.getId()).orElseThrow().getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findById_whenUserUpdated_thenReturnedUpdatedUser() {
+        User found = userRepository.findById(user.getId()).orElseThrow();
+        found.setName("updated");
+        userRepository.save(found);
+
+        assertEquals("updated", userRepository.findById(user.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void findById_whenNotCached_thenLoadedOnceAndCached() {
+        cacheManager.getCache(UserRepository.USERS_CACHE).clear();
+
+        userRepository.findById(user.getId());
+        userRepository.findById(user.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findById_whenUserDeleted_thenNotFound() {
+        userRepository.findById(user.getId());
+        userRepository.delete(user);
+
+        assertTrue(userRepository.findById(user.getId()).isEmpty());
+    }
+
+    @Test
+    void findById_whenUserDeletedById_thenNotFound() {
+        userRepository.findById(user.getId());
+        userRepository.deleteById(user.getId());
+
+        assertTrue(userRepository.findById(user.getId()).isEmpty());
+    }
+}
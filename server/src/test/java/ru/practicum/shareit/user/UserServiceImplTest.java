@@ -7,6 +7,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.entity.User;
 
 import java.util.List;
@@ -20,6 +22,10 @@ import static org.mockito.Mockito.*;
 class UserServiceImplTest {
     @Mock
     private UserRepository repository;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private ItemDetailsCache itemDetailsCache;
 
     @InjectMocks
     private UserServiceImpl userServiceImpl;
@@ -89,5 +95,6 @@ class UserServiceImplTest {
         userServiceImpl.deleteUserById(userId);
 
         verify(repository, times(1)).delete(expectedUser);
+        verify(itemSearchIndex, times(1)).removeAllByOwner(userId);
     }
 }
\ No newline at end of file